@@ -0,0 +1,98 @@
+package com.subscriptionplatform.benchmarks.experimentation;
+
+import com.subscriptionplatform.experimentation.evaluation.ExperimentSnapshot;
+import com.subscriptionplatform.experimentation.evaluation.BucketSet;
+import com.subscriptionplatform.experimentation.evaluation.Experiment;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentLayer;
+import com.subscriptionplatform.experimentation.evaluation.LayerAllocation;
+import com.subscriptionplatform.experimentation.evaluation.TargetingContext;
+import com.subscriptionplatform.experimentation.evaluation.TargetingRule;
+import com.subscriptionplatform.experimentation.evaluation.Variant;
+import com.subscriptionplatform.experimentation.evaluation.VariantAssigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All experiment decisions for one user across 20 layers of 10 experiments each (200 running experiments, every
+ * experiment 5% of its layer). {@code perLayer} looks up the bucket owner of each {@link ExperimentLayer}: one hash
+ * per layer plus one per experiment the user is in. {@code perExperiment} asks every experiment in turn, one
+ * bucket hash and bit test each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayeredAssignmentBenchmark {
+
+    private static final int LAYERS = 20;
+    private static final int EXPERIMENTS_PER_LAYER = 10;
+    private static final int USERS = 1 << 12;
+
+    private ExperimentLayer[] layers;
+    private VariantAssigner[] experiments;
+    private UUID[] userIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Experiment> definitions = new ArrayList<>();
+        List<Variant> split = List.of(new Variant("control", 1), new Variant("treatment", 1));
+        int share = BucketSet.BUCKETS / 2 / EXPERIMENTS_PER_LAYER; // Half of each layer allocated
+        for (int l = 0; l < LAYERS; l++) {
+            for (int e = 0; e < EXPERIMENTS_PER_LAYER; e++) {
+                String layer = "layer-" + l;
+                definitions.add(new Experiment(layer + "-experiment-" + e, layer + "-experiment-" + e, split,
+                        TargetingRule.EVERYONE, new LayerAllocation(layer, layer, BucketSet.range(e * share, (e + 1) * share))));
+            }
+        }
+        ExperimentSnapshot snapshot = ExperimentSnapshot.of(1, definitions);
+        layers = snapshot.layers().toArray(ExperimentLayer[]::new);
+        experiments = definitions.stream().map(d -> snapshot.assigner(d.key())).toArray(VariantAssigner[]::new);
+        userIds = new UUID[USERS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public int perLayer() {
+        UUID userId = userIds[next++ & (USERS - 1)];
+        int assigned = 0;
+        for (ExperimentLayer layer : layers) {
+            if (layer.assign(userId, TargetingContext.UNKNOWN) != null) {
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    @Benchmark
+    public int perExperiment() {
+        UUID userId = userIds[next++ & (USERS - 1)];
+        int assigned = 0;
+        for (VariantAssigner experiment : experiments) {
+            if (experiment.assign(userId, TargetingContext.UNKNOWN) != null) {
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+}
@@ -0,0 +1,143 @@
+package com.subscriptionplatform.benchmarks.experimentation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionplatform.experimentation.evaluation.Plan;
+import com.subscriptionplatform.experimentation.evaluation.SubscriptionStatus;
+import com.subscriptionplatform.experimentation.evaluation.TargetingContext;
+import com.subscriptionplatform.experimentation.evaluation.TargetingRule;
+import com.subscriptionplatform.experimentation.evaluation.TargetingRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One targeting check of a typical rule (plan, status, then country or app version), for a user who passes every
+ * branch and one rejected by the last condition. {@code compiled} evaluates the {@link TargetingRules} output;
+ * {@code interpreted} walks the stored JSON tree against string attributes in a map, as an evaluator without a
+ * compile step would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetingRuleBenchmark {
+
+    private static final String RULE = """
+            {"all": [
+              {"attribute": "plan", "in": ["INDIVIDUAL", "DUO", "FAMILY"]},
+              {"attribute": "status", "in": ["TRIALING", "ACTIVE"]},
+              {"any": [
+                {"attribute": "country", "in": ["SE", "NO", "DK", "FI", "IS"]},
+                {"attribute": "appVersion", "gte": "5.2"}
+              ]}
+            ]}
+            """;
+
+    private JsonNode tree;
+    private TargetingRule compiled;
+    private TargetingContext eligible;
+    private TargetingContext rejected;
+    private Map<String, Object> eligibleAttributes;
+    private Map<String, Object> rejectedAttributes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tree = new ObjectMapper().readTree(RULE);
+        compiled = TargetingRules.compile(tree);
+        eligible = TargetingContext.of(Plan.FAMILY, SubscriptionStatus.ACTIVE, "DE", "5.4.1");
+        rejected = TargetingContext.of(Plan.FAMILY, SubscriptionStatus.ACTIVE, "DE", "5.1.9");
+        eligibleAttributes = Map.of("plan", "FAMILY", "status", "ACTIVE", "country", "DE", "appVersion", "5.4.1");
+        rejectedAttributes = Map.of("plan", "FAMILY", "status", "ACTIVE", "country", "DE", "appVersion", "5.1.9");
+    }
+
+    @Benchmark
+    public boolean compiledEligible() {
+        return compiled.matches(eligible);
+    }
+
+    @Benchmark
+    public boolean compiledRejected() {
+        return compiled.matches(rejected);
+    }
+
+    @Benchmark
+    public boolean interpretedEligible() {
+        return Interpreter.matches(tree, eligibleAttributes);
+    }
+
+    @Benchmark
+    public boolean interpretedRejected() {
+        return Interpreter.matches(tree, rejectedAttributes);
+    }
+
+    /** Straightforward tree walk: field lookups by name, string comparisons and version parsing on every call. */
+    static final class Interpreter {
+
+        static boolean matches(JsonNode node, Map<String, Object> attributes) {
+            if (node.has("all")) {
+                for (JsonNode child : node.get("all")) {
+                    if (!matches(child, attributes)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (node.has("any")) {
+                for (JsonNode child : node.get("any")) {
+                    if (matches(child, attributes)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (node.has("not")) {
+                return !matches(node.get("not"), attributes);
+            }
+            Object value = attributes.get(node.get("attribute").asText());
+            if (value == null) {
+                return false;
+            }
+            if (node.has("in")) {
+                for (JsonNode candidate : node.get("in")) {
+                    if (candidate.asText().equalsIgnoreCase(value.toString())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (node.has("eq")) {
+                return node.get("eq").asText().equalsIgnoreCase(value.toString());
+            }
+            int comparison = compareVersions(value.toString(), node.has("gte") ? node.get("gte").asText() : node.get("lt").asText());
+            return node.has("gte") ? comparison >= 0 : comparison < 0;
+        }
+
+        private static int compareVersions(String left, String right) {
+            String[] a = left.split("\\.");
+            String[] b = right.split("\\.");
+            for (int i = 0; i < 3; i++) {
+                int x = i < a.length ? Integer.parseInt(a[i]) : 0;
+                int y = i < b.length ? Integer.parseInt(b[i]) : 0;
+                if (x != y) {
+                    return Integer.compare(x, y);
+                }
+            }
+            return 0;
+        }
+    }
+}
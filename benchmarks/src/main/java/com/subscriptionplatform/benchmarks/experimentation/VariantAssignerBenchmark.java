@@ -0,0 +1,81 @@
+package com.subscriptionplatform.benchmarks.experimentation;
+
+import com.subscriptionplatform.experimentation.evaluation.Experiment;
+import com.subscriptionplatform.experimentation.evaluation.Variant;
+import com.subscriptionplatform.experimentation.evaluation.VariantAssigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link VariantAssigner#assign} for a 50/50 and a five-way weighted experiment, over a pool of user
+ * ids larger than L1. {@code md5Baseline} is the common "hash {@code salt:userId} with MD5" approach for
+ * comparison: string building, digest and byte-array allocation per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariantAssignerBenchmark {
+
+    private static final int USERS = 1 << 16;
+
+    private VariantAssigner split;
+    private VariantAssigner weighted;
+    private MessageDigest md5;
+    private UUID[] userIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchAlgorithmException {
+        split = new VariantAssigner(new Experiment("paywall-copy",
+                List.of(new Variant("control", 1), new Variant("treatment", 1))));
+        weighted = new VariantAssigner(new Experiment("pricing", List.of(new Variant("control", 40),
+                new Variant("a", 15), new Variant("b", 15), new Variant("c", 15), new Variant("d", 15))));
+        md5 = MessageDigest.getInstance("MD5");
+        userIds = new UUID[USERS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public Variant assignSplit() {
+        return split.assign(nextUser());
+    }
+
+    @Benchmark
+    public Variant assignWeighted() {
+        return weighted.assign(nextUser());
+    }
+
+    @Benchmark
+    public int md5Baseline() {
+        byte[] digest = md5.digest(("paywall-copy:" + nextUser()).getBytes(StandardCharsets.UTF_8));
+        int h = (digest[0] & 0xFF) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF);
+        return Integer.remainderUnsigned(h, 2);
+    }
+
+    private UUID nextUser() {
+        return userIds[next++ & (USERS - 1)];
+    }
+}
@@ -0,0 +1,69 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.subscriptionplatform.subscription.application.EntitlementIndex;
+import com.subscriptionplatform.subscription.domain.Entitlement;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost in the {@link EntitlementIndex} behind {@code /entitlements} over tables far larger than the CPU
+ * caches, so most lookups miss them. The setup prints the bytes per user of the loaded index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EntitlementIndexBenchmark {
+
+    @Param({"1000000", "20000000"})
+    public int users;
+
+    private EntitlementIndex index;
+    private UUID[] userIds;
+
+    @Setup(Level.Trial)
+    public void load() {
+        index = new EntitlementIndex();
+        userIds = new UUID[Math.min(users, 1 << 20)]; // Probe a sample, not a second copy of every key
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Plan[] plans = Plan.values();
+        SubscriptionStatus[] statuses = SubscriptionStatus.values();
+        for (int i = 0; i < users; i++) {
+            UUID userId = new UUID(random.nextLong(), random.nextLong());
+            if (i % (users / userIds.length) == 0 && i / (users / userIds.length) < userIds.length) {
+                userIds[i / (users / userIds.length)] = userId;
+            }
+            index.put(userId, plans[i % plans.length], statuses[i % statuses.length]);
+        }
+        System.out.printf("%n%d users, %.1f bytes/user%n", index.size(), (double) index.memoryBytes() / index.size());
+    }
+
+    @Benchmark
+    public Entitlement hit() {
+        return index.get(userIds[ThreadLocalRandom.current().nextInt(userIds.length)]);
+    }
+
+    @Benchmark
+    public Entitlement miss() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.get(new UUID(random.nextLong(), random.nextLong()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.subscriptionplatform.subscription.application.SubscriptionEventType;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.infrastructure.BinaryEventCodec;
+import com.subscriptionplatform.subscription.infrastructure.JsonEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox payload encoding and decoding per codec, for the largest (trial_started, canceled) and smallest
+ * (reactivated) event layouts. {@code legacyJsonString} is the pre-codec path: a {@code Map.of} payload
+ * serialized to a {@code String}. Payload sizes are printed once per trial, next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    @Param({"TRIAL_STARTED", "CANCELED", "REACTIVATED"})
+    public SubscriptionEventType eventType;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final BinaryEventCodec binary = new BinaryEventCodec();
+    private final JsonEventCodec json = new JsonEventCodec(objectMapper);
+    private Subscription subscription;
+    private Map<String, Object> legacyPayload;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+
+    @Setup
+    public void setUp() {
+        subscription = Fixtures.persisted(SubscriptionStatus.FREE);
+        subscription.startTrial(14);
+        if (eventType == SubscriptionEventType.CANCELED) {
+            subscription.cancel(true);
+        }
+        binaryPayload = binary.encode(eventType, subscription);
+        jsonPayload = json.encode(eventType, subscription);
+        legacyPayload = json.decode(jsonPayload);
+        System.out.printf("%n%s payload bytes: binary=%d json=%d%n",
+                eventType.eventType(), binaryPayload.length, jsonPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.encode(eventType, subscription);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.encode(eventType, subscription);
+    }
+
+    @Benchmark
+    public String legacyJsonString() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.copyOf(legacyPayload));
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeBinary() {
+        return binary.decode(binaryPayload);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeJson() {
+        return json.decode(jsonPayload);
+    }
+}
@@ -0,0 +1,43 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Entities as they look after persistence, built without a database. */
+final class Fixtures {
+
+    private static final Field ID = field("id");
+    private static final Field CREATED_AT = field("createdAt");
+
+    private Fixtures() {
+    }
+
+    static Subscription persisted(SubscriptionStatus status) {
+        Subscription sub = new Subscription();
+        sub.setUserId(UUID.randomUUID());
+        sub.setPlan(status == SubscriptionStatus.FREE ? Plan.FREE : Plan.INDIVIDUAL);
+        sub.setStatus(status);
+        try {
+            ID.set(sub, UUID.randomUUID());
+            CREATED_AT.set(sub, Instant.now());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return sub;
+    }
+
+    private static Field field(String name) {
+        try {
+            Field field = Subscription.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.subscriptionplatform.subscription.application.EventCodec;
+import com.subscriptionplatform.subscription.application.OutboxPublisher;
+import com.subscriptionplatform.subscription.domain.OutboxEvent;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.infrastructure.BinaryEventCodec;
+import com.subscriptionplatform.subscription.infrastructure.JsonEventCodec;
+import com.subscriptionplatform.subscription.repository.OutboxEventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox event creation as done inside every state-changing request: payload encoding with either codec and
+ * the {@link OutboxEvent} entity. The repository is a stub that keeps the last saved event, so no JPA is involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutboxPublisherBenchmark {
+
+    @Param({"binary", "json"})
+    public String codec;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private OutboxPublisher publisher;
+    private Subscription trialing;
+    private Subscription canceled;
+    private Object lastSaved;
+
+    @Setup
+    public void setUp() {
+        OutboxEventRepository repository = (OutboxEventRepository) Proxy.newProxyInstance(
+                OutboxEventRepository.class.getClassLoader(), new Class<?>[]{OutboxEventRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("save")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    lastSaved = args[0];
+                    return args[0];
+                });
+        EventCodec eventCodec = codec.equals("binary") ? new BinaryEventCodec() : new JsonEventCodec(objectMapper);
+        publisher = new OutboxPublisher(repository, eventCodec);
+
+        trialing = Fixtures.persisted(SubscriptionStatus.FREE);
+        trialing.startTrial(14);
+        canceled = Fixtures.persisted(SubscriptionStatus.ACTIVE);
+        canceled.cancel(false);
+    }
+
+    @Benchmark
+    public Object publishTrialStarted() {
+        publisher.publishTrialStarted(trialing);
+        return lastSaved;
+    }
+
+    @Benchmark
+    public Object publishCanceled() {
+        publisher.publishCanceled(canceled);
+        return lastSaved;
+    }
+}
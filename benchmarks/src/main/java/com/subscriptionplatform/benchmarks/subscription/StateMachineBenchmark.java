@@ -0,0 +1,160 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.subscriptionplatform.subscription.domain.SubscriptionStateMachine;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.domain.TransitionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transition checks over every (from, to) pair, so lookups for all states are measured rather than one
+ * branch-predicted pair. Reported time is per full pass.
+ * <p>
+ * {@code legacy*} benchmarks run the previous implementation (an {@code EnumSet} per status in a {@code Map},
+ * rejecting by exception), kept here as the baseline for the ordinal-indexed matrix and {@code check()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateMachineBenchmark {
+
+    private SubscriptionStatus[] allFrom;
+    private SubscriptionStatus[] allTo;
+    private SubscriptionStatus[] allowedFrom;
+    private SubscriptionStatus[] allowedTo;
+
+    @Setup
+    public void setUp() {
+        SubscriptionStatus[] statuses = SubscriptionStatus.values();
+        int pairs = statuses.length * statuses.length;
+        allFrom = new SubscriptionStatus[pairs];
+        allTo = new SubscriptionStatus[pairs];
+        List<SubscriptionStatus[]> allowed = new ArrayList<>();
+        int i = 0;
+        for (SubscriptionStatus from : statuses) {
+            for (SubscriptionStatus to : statuses) {
+                allFrom[i] = from;
+                allTo[i++] = to;
+                if (SubscriptionStateMachine.canTransition(from, to)) {
+                    allowed.add(new SubscriptionStatus[]{from, to});
+                }
+            }
+        }
+        allowedFrom = allowed.stream().map(p -> p[0]).toArray(SubscriptionStatus[]::new);
+        allowedTo = allowed.stream().map(p -> p[1]).toArray(SubscriptionStatus[]::new);
+    }
+
+    @Benchmark
+    public void checkAllPairs(Blackhole bh) {
+        for (int i = 0; i < allFrom.length; i++) {
+            bh.consume(SubscriptionStateMachine.check(allFrom[i], allTo[i]));
+        }
+    }
+
+    @Benchmark
+    public void legacyCanTransitionAllPairs(Blackhole bh) {
+        for (int i = 0; i < allFrom.length; i++) {
+            bh.consume(LegacyStateMachine.canTransition(allFrom[i], allTo[i]));
+        }
+    }
+
+    @Benchmark
+    public void canTransitionAllPairs(Blackhole bh) {
+        for (int i = 0; i < allFrom.length; i++) {
+            bh.consume(SubscriptionStateMachine.canTransition(allFrom[i], allTo[i]));
+        }
+    }
+
+    /** Allowed pairs only: the per-request path, where a rejected transition is the exception. */
+    @Benchmark
+    public void validateTransitionAllowedPairs() {
+        for (int i = 0; i < allowedFrom.length; i++) {
+            SubscriptionStateMachine.validateTransition(allowedFrom[i], allowedTo[i]);
+        }
+    }
+
+    @Benchmark
+    public void legacyValidateTransitionAllowedPairs() {
+        for (int i = 0; i < allowedFrom.length; i++) {
+            LegacyStateMachine.validateTransition(allowedFrom[i], allowedTo[i]);
+        }
+    }
+
+    /** The non-throwing path for a rejection: returns the preallocated result for the pair. */
+    @Benchmark
+    public TransitionResult checkRejected() {
+        return SubscriptionStateMachine.check(SubscriptionStatus.CANCELED, SubscriptionStatus.TRIALING);
+    }
+
+    /** Rejected transitions build an IllegalStateException with message and stack trace. */
+    @Benchmark
+    public Object legacyValidateTransitionRejected() {
+        try {
+            LegacyStateMachine.validateTransition(SubscriptionStatus.CANCELED, SubscriptionStatus.TRIALING);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object validateTransitionRejected() {
+        try {
+            SubscriptionStateMachine.validateTransition(SubscriptionStatus.CANCELED, SubscriptionStatus.TRIALING);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    /** The Map/EnumSet implementation this module first measured. */
+    static final class LegacyStateMachine {
+
+        private static final Map<SubscriptionStatus, Set<SubscriptionStatus>> ALLOWED_TRANSITIONS = Map.of(
+                SubscriptionStatus.FREE, EnumSet.of(SubscriptionStatus.TRIALING, SubscriptionStatus.ACTIVE),
+                SubscriptionStatus.TRIALING, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED),
+                SubscriptionStatus.ACTIVE, EnumSet.of(SubscriptionStatus.PAST_DUE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED, SubscriptionStatus.GRACE_PERIOD),
+                SubscriptionStatus.PAST_DUE, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.GRACE_PERIOD, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED),
+                SubscriptionStatus.GRACE_PERIOD, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED),
+                SubscriptionStatus.CANCELED, EnumSet.of(SubscriptionStatus.ACTIVE),
+                SubscriptionStatus.EXPIRED, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.TRIALING)
+        );
+
+        static void validateTransition(SubscriptionStatus from, SubscriptionStatus to) {
+            if (from == to) {
+                return;
+            }
+            Set<SubscriptionStatus> allowed = ALLOWED_TRANSITIONS.get(from);
+            if (allowed == null || !allowed.contains(to)) {
+                throw new IllegalStateException("Invalid subscription transition: " + from + " -> " + to);
+            }
+        }
+
+        static boolean canTransition(SubscriptionStatus from, SubscriptionStatus to) {
+            if (from == to) {
+                return true;
+            }
+            Set<SubscriptionStatus> allowed = ALLOWED_TRANSITIONS.get(from);
+            return allowed != null && allowed.contains(to);
+        }
+    }
+}
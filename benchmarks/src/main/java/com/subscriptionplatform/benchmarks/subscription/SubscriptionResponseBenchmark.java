@@ -0,0 +1,59 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping ({@link SubscriptionResponse#from}, formerly {@code toResponse}) and the JSON body
+ * written for {@code GET /subscriptions/me}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionResponseBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private Subscription subscription;
+    private SubscriptionResponse response;
+
+    @Setup
+    public void setUp() {
+        subscription = Fixtures.persisted(SubscriptionStatus.FREE);
+        subscription.startTrial(14);
+        response = SubscriptionResponse.from(subscription);
+    }
+
+    @Benchmark
+    public SubscriptionResponse toResponse() {
+        return SubscriptionResponse.from(subscription);
+    }
+
+    @Benchmark
+    public String serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String toResponseAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(SubscriptionResponse.from(subscription));
+    }
+}
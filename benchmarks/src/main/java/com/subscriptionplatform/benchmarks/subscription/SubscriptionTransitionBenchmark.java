@@ -0,0 +1,70 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Subscription} transition methods as the application service calls them. Each benchmark first puts its
+ * entity back into the start state with plain setters, which is cheaper and steadier than a per-invocation setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionTransitionBenchmark {
+
+    private Subscription free;
+    private Subscription active;
+    private Subscription canceled;
+
+    @Setup
+    public void setUp() {
+        free = Fixtures.persisted(SubscriptionStatus.FREE);
+        active = Fixtures.persisted(SubscriptionStatus.ACTIVE);
+        canceled = Fixtures.persisted(SubscriptionStatus.CANCELED);
+    }
+
+    @Benchmark
+    public Subscription startTrial() {
+        free.setStatus(SubscriptionStatus.FREE);
+        free.setPlan(Plan.FREE);
+        free.startTrial(14);
+        return free;
+    }
+
+    @Benchmark
+    public Subscription cancelAtPeriodEnd() {
+        active.setStatus(SubscriptionStatus.ACTIVE);
+        active.cancel(true);
+        return active;
+    }
+
+    @Benchmark
+    public Subscription cancelImmediately() {
+        active.setStatus(SubscriptionStatus.ACTIVE);
+        active.cancel(false);
+        return active;
+    }
+
+    @Benchmark
+    public Subscription reactivate() {
+        canceled.setStatus(SubscriptionStatus.CANCELED);
+        canceled.reactivate();
+        return canceled;
+    }
+}
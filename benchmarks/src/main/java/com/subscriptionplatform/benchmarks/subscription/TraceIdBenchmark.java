@@ -0,0 +1,53 @@
+package com.subscriptionplatform.benchmarks.subscription;
+
+import com.subscriptionplatform.subscription.application.TraceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request trace id cost in the servlet filter, on 8 threads to expose contention. {@code legacyUuid} is the
+ * previous {@code UUID.randomUUID()} based 16-digit id; {@code startTrace} is the full W3C path (trace id, span
+ * id, traceparent, two MDC puts).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class TraceIdBenchmark {
+
+    @TearDown
+    public void clearMdc() {
+        MDC.clear();
+    }
+
+    @Benchmark
+    public String legacyUuid() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    }
+
+    @Benchmark
+    public String newTraceId() {
+        return TraceContext.newTraceId();
+    }
+
+    @Benchmark
+    public String startTrace() {
+        return TraceContext.start(null, null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Non-cryptographic 64-bit hash of {@code (salt, userId)} for bucketing. Nothing here needs to resist an
+ * adversary, only to spread users evenly and independently per salt, so each call is two rounds of the SplitMix64
+ * finalizer over the two halves of the user id (a few multiplies and shifts, no allocation). The salt is hashed
+ * once, when the experiment is compiled.
+ * <p>
+ * The output is part of the assignment contract: changing any constant or step here moves users between
+ * variants of running experiments.
+ */
+public final class AssignmentHash {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private AssignmentHash() {
+    }
+
+    /** 64-bit seed for {@link #hash(long, UUID)}: FNV-1a over the UTF-8 bytes, then mixed. */
+    public static long seed(String salt) {
+        long h = FNV_OFFSET;
+        for (byte b : salt.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xFF)) * FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    public static long hash(long seed, UUID userId) {
+        return hash(seed, userId.getMostSignificantBits(), userId.getLeastSignificantBits());
+    }
+
+    public static long hash(long seed, long msb, long lsb) {
+        long h = mix(seed ^ (msb + GOLDEN_GAMMA));
+        return mix(h ^ (lsb + GOLDEN_GAMMA));
+    }
+
+    /**
+     * Maps a hash onto {@code [0, n)} by multiplying its high 32 bits by {@code n} (Lemire's multiply-shift):
+     * no division, and the bias for any {@code n} is below {@code n / 2^32}.
+     */
+    public static int reduce(long hash, int n) {
+        return (int) (((hash >>> 32) * n) >>> 32);
+    }
+
+    // SplitMix64 finalizer (Stafford's Mix13): every input bit affects every output bit
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,12 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+/** Buckets {@code from} (inclusive) to {@code to} (exclusive) of a layer; how {@link BucketSet}s travel as JSON. */
+public record BucketRange(int from, int to) {
+
+    public BucketRange {
+        if (from < 0 || to > BucketSet.BUCKETS || from >= to) {
+            throw new IllegalArgumentException("Bucket range must be non-empty and within 0.." + BucketSet.BUCKETS
+                    + ": " + from + ".." + to);
+        }
+    }
+}
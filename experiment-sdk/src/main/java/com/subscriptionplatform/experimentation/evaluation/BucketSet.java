@@ -0,0 +1,136 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of layer buckets, {@value #BUCKETS} of them (0.01% of a layer's traffic each), as a bitset of
+ * {@value #WORDS} {@code long}s (1.25 KB). Stored in Postgres as {@code BIT(10000)}, bucket 0 first.
+ */
+public final class BucketSet {
+
+    public static final int BUCKETS = 10_000;
+
+    static final int WORDS = (BUCKETS + 63) / 64;
+
+    public static final BucketSet NONE = new BucketSet(new long[WORDS]);
+
+    private final long[] words;
+
+    private BucketSet(long[] words) {
+        this.words = words;
+    }
+
+    /** Buckets {@code from} (inclusive) to {@code to} (exclusive). */
+    public static BucketSet range(int from, int to) {
+        if (from < 0 || to > BUCKETS || from > to) {
+            throw new IllegalArgumentException("Bucket range must be within 0.." + BUCKETS + ": " + from + ".." + to);
+        }
+        long[] words = new long[WORDS];
+        for (int bucket = from; bucket < to; bucket++) {
+            words[bucket >>> 6] |= 1L << bucket;
+        }
+        return new BucketSet(words);
+    }
+
+    public static BucketSet of(List<BucketRange> ranges) {
+        BucketSet buckets = NONE;
+        for (BucketRange range : ranges) {
+            buckets = buckets.union(range(range.from(), range.to()));
+        }
+        return buckets;
+    }
+
+    /** Parses Postgres {@code BIT(10000)} text output: one '0' or '1' per bucket. */
+    public static BucketSet parse(String bits) {
+        if (bits.length() != BUCKETS) {
+            throw new IllegalArgumentException("Bucket bitset must have " + BUCKETS + " bits, got " + bits.length());
+        }
+        long[] words = new long[WORDS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            switch (bits.charAt(bucket)) {
+                case '1' -> words[bucket >>> 6] |= 1L << bucket;
+                case '0' -> {
+                }
+                default -> throw new IllegalArgumentException("Bucket bitset may only contain 0 and 1");
+            }
+        }
+        return new BucketSet(words);
+    }
+
+    public boolean contains(int bucket) {
+        return (words[bucket >>> 6] & 1L << bucket) != 0;
+    }
+
+    /** The buckets of both sets; ramping an experiment up is a union with the added range. */
+    public BucketSet union(BucketSet other) {
+        long[] union = words.clone();
+        for (int i = 0; i < WORDS; i++) {
+            union[i] |= other.words[i];
+        }
+        return new BucketSet(union);
+    }
+
+    public boolean containsAll(BucketSet other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersects(BucketSet other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /** The set as maximal runs of consecutive buckets, in order; inverse of {@link #of(List)}. */
+    public List<BucketRange> ranges() {
+        List<BucketRange> ranges = new ArrayList<>();
+        int from = -1;
+        for (int bucket = 0; bucket <= BUCKETS; bucket++) {
+            boolean in = bucket < BUCKETS && contains(bucket);
+            if (in && from < 0) {
+                from = bucket;
+            } else if (!in && from >= 0) {
+                ranges.add(new BucketRange(from, bucket));
+                from = -1;
+            }
+        }
+        return ranges;
+    }
+
+    /** Inverse of {@link #parse}. */
+    @Override
+    public String toString() {
+        StringBuilder bits = new StringBuilder(BUCKETS);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            bits.append(contains(bucket) ? '1' : '0');
+        }
+        return bits.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BucketSet other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
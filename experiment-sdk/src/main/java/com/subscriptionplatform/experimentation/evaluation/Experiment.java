@@ -0,0 +1,57 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Experiment definition as far as assignment needs it. The {@code salt} seeds the user hash: experiments with
+ * different salts split users independently of each other, and changing the salt reshuffles every user, so it is
+ * fixed when the experiment starts. It defaults to the key and must not start with {@code layer:}, the prefix of
+ * layer seeds (see {@link LayerAllocation#seed}). Only users matching {@code targeting} are assigned;
+ * it defaults to {@link TargetingRule#EVERYONE}. A layered experiment only sees users in the buckets of its
+ * {@code allocation}; without one it sees all traffic.
+ */
+public record Experiment(String key, String salt, List<Variant> variants, TargetingRule targeting,
+                         LayerAllocation allocation) {
+
+    public Experiment {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Experiment key is required");
+        }
+        if (salt == null || salt.isEmpty()) {
+            salt = key;
+        }
+        if (salt.startsWith(LayerAllocation.LAYER_SEED_PREFIX)) {
+            throw new IllegalArgumentException("Salt of experiment " + key + " must not start with \""
+                    + LayerAllocation.LAYER_SEED_PREFIX + "\", which is reserved for layer seeds");
+        }
+        if (targeting == null) {
+            targeting = TargetingRule.EVERYONE;
+        }
+        if (variants == null || variants.isEmpty()) {
+            throw new IllegalArgumentException("Experiment " + key + " needs at least one variant");
+        }
+        variants = List.copyOf(variants);
+        Set<String> keys = new HashSet<>();
+        long totalWeight = 0;
+        for (Variant variant : variants) {
+            if (!keys.add(variant.key())) {
+                throw new IllegalArgumentException("Duplicate variant " + variant.key() + " in experiment " + key);
+            }
+            totalWeight += variant.weight();
+        }
+        if (totalWeight == 0 || totalWeight > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Variant weights of experiment " + key + " must add up to 1.."
+                    + Integer.MAX_VALUE + ", got " + totalWeight);
+        }
+    }
+
+    public Experiment(String key, String salt, List<Variant> variants) {
+        this(key, salt, variants, TargetingRule.EVERYONE, null);
+    }
+
+    public Experiment(String key, List<Variant> variants) {
+        this(key, key, variants);
+    }
+}
@@ -0,0 +1,32 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Every running experiment at one {@code experiment_config} version: what experimentation-service serves at
+ * {@code GET /experiments/config} and what it compiles its own snapshot from. Clients that compile the same document
+ * with {@link #compile} get the same snapshot, and so the same assignments, as the server.
+ */
+public record ExperimentConfig(long version, List<ExperimentDefinition> experiments) {
+
+    public ExperimentConfig {
+        experiments = experiments == null ? List.of() : List.copyOf(experiments);
+    }
+
+    /**
+     * Compiles the definitions in order. A definition that is invalid, or overlaps an earlier experiment of its
+     * layer, is reported to {@code onInvalid} and left out; the rest still run.
+     */
+    public ExperimentSnapshot compile(BiConsumer<String, IllegalArgumentException> onInvalid) {
+        ExperimentSnapshot.Builder builder = new ExperimentSnapshot.Builder(version);
+        for (ExperimentDefinition definition : experiments) {
+            try {
+                builder.add(definition.compile());
+            } catch (IllegalArgumentException e) {
+                onInvalid.accept(definition.key(), e);
+            }
+        }
+        return builder.build();
+    }
+}
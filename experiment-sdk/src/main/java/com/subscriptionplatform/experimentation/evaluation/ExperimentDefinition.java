@@ -0,0 +1,33 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * A running experiment as published in an {@link ExperimentConfig}: the stored definition, uncompiled. Targeting
+ * keeps the rule's JSON tree ({@link TargetingRules}); the layer allocation travels as bucket ranges.
+ */
+public record ExperimentDefinition(String key, String salt, List<Variant> variants, JsonNode targeting,
+                                   Layer layer) {
+
+    public ExperimentDefinition {
+        if (targeting != null && targeting.isNull()) {
+            targeting = null; // JSON null parses to a NullNode; keep one representation of "everyone"
+        }
+    }
+
+    /** @param buckets the buckets of the layer owned by this experiment */
+    public record Layer(String key, String salt, List<BucketRange> buckets) {
+    }
+
+    /** @throws IllegalArgumentException if the definition or its targeting rule is invalid */
+    public Experiment compile() {
+        LayerAllocation allocation = null;
+        if (layer != null) {
+            allocation = new LayerAllocation(layer.key(), layer.salt(),
+                    layer.buckets() == null ? BucketSet.NONE : BucketSet.of(layer.buckets()));
+        }
+        return new Experiment(key, salt, variants, TargetingRules.compile(targeting), allocation);
+    }
+}
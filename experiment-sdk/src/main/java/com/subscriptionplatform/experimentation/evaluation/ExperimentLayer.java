@@ -0,0 +1,90 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The running experiments of one layer, compiled into a bucket-to-experiment table: finding the one experiment a
+ * user belongs to in the layer is a single layer hash and an array read, however many experiments the layer
+ * holds. Experiments of a layer own disjoint {@link BucketSet}s, so no user is in two of them.
+ */
+public final class ExperimentLayer {
+
+    private final String key;
+    private final long seed;
+    private final VariantAssigner[] owners; // Per bucket; null for unallocated buckets
+    private final List<VariantAssigner> experiments;
+
+    private ExperimentLayer(String key, long seed, VariantAssigner[] owners, List<VariantAssigner> experiments) {
+        this.key = key;
+        this.seed = seed;
+        this.owners = owners;
+        this.experiments = experiments;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public List<VariantAssigner> experiments() {
+        return experiments;
+    }
+
+    /** @return the experiment owning the user's bucket, or null if the bucket is unallocated */
+    public VariantAssigner experimentFor(UUID userId) {
+        return owners[LayerAllocation.bucket(seed, userId)];
+    }
+
+    /**
+     * @return the user's variant in the layer's experiment for their bucket, or null if the bucket is unallocated
+     * or the user does not match that experiment's targeting (the bucket is not handed to another experiment)
+     */
+    public Variant assign(UUID userId, TargetingContext context) {
+        VariantAssigner owner = experimentFor(userId);
+        return owner == null ? null : owner.assignIfTargeted(userId, context);
+    }
+
+    public static final class Builder {
+
+        private final String key;
+        private final String salt;
+        private final VariantAssigner[] owners = new VariantAssigner[BucketSet.BUCKETS];
+        private final List<VariantAssigner> experiments = new ArrayList<>();
+
+        public Builder(String key, String salt) {
+            this.key = key;
+            this.salt = salt;
+        }
+
+        /**
+         * Adds a layered experiment of this layer.
+         *
+         * @throws IllegalArgumentException if it belongs to another layer or shares a bucket with an experiment
+         *                                  already added; the builder is unchanged
+         */
+        public Builder add(VariantAssigner assigner) {
+            LayerAllocation allocation = assigner.experiment().allocation();
+            if (allocation == null || !allocation.layer().equals(key) || !allocation.layerSalt().equals(salt)) {
+                throw new IllegalArgumentException("Experiment " + assigner.experiment().key() + " is not in layer " + key);
+            }
+            for (VariantAssigner other : experiments) {
+                if (other.experiment().allocation().buckets().intersects(allocation.buckets())) {
+                    throw new IllegalArgumentException("Experiment " + assigner.experiment().key()
+                            + " overlaps " + other.experiment().key() + " in layer " + key);
+                }
+            }
+            experiments.add(assigner);
+            for (int bucket = 0; bucket < BucketSet.BUCKETS; bucket++) {
+                if (allocation.buckets().contains(bucket)) {
+                    owners[bucket] = assigner;
+                }
+            }
+            return this;
+        }
+
+        public ExperimentLayer build() {
+            return new ExperimentLayer(key, LayerAllocation.seed(salt), owners.clone(), List.copyOf(experiments));
+        }
+    }
+}
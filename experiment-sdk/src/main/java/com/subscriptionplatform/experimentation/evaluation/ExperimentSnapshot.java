@@ -0,0 +1,95 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of every running experiment at one {@code experiment_config} version, with each definition
+ * already compiled into a {@link VariantAssigner} and layered experiments into their {@link ExperimentLayer}. A
+ * snapshot is never modified after construction, so any number of threads read it without locks; a reload builds
+ * a new one and swaps the reference. Lookups go through immutable maps keyed by experiment or layer key and do not
+ * allocate.
+ */
+public final class ExperimentSnapshot {
+
+    /** Before the first successful load: no experiment runs. */
+    public static final ExperimentSnapshot EMPTY = new Builder(-1).build();
+
+    private final long version;
+    private final Map<String, VariantAssigner> assigners;
+    private final Map<String, ExperimentLayer> layers;
+
+    private ExperimentSnapshot(long version, Map<String, VariantAssigner> assigners, Map<String, ExperimentLayer> layers) {
+        this.version = version;
+        this.assigners = assigners;
+        this.layers = layers;
+    }
+
+    /** @throws IllegalArgumentException if an experiment is a duplicate or overlaps another in its layer */
+    public static ExperimentSnapshot of(long version, Collection<Experiment> experiments) {
+        Builder builder = new Builder(version);
+        experiments.forEach(builder::add);
+        return builder.build();
+    }
+
+    /** {@code experiment_config} version the snapshot was read at; -1 for {@link #EMPTY}. */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return assigners.size();
+    }
+
+    /** @return the assigner of a running experiment, or null if the experiment is unknown or not running */
+    public VariantAssigner assigner(String experimentKey) {
+        return assigners.get(experimentKey);
+    }
+
+    /** @return the layer with at least one running experiment, or null */
+    public ExperimentLayer layer(String layerKey) {
+        return layers.get(layerKey);
+    }
+
+    public Collection<ExperimentLayer> layers() {
+        return layers.values();
+    }
+
+    public static final class Builder {
+
+        private final long version;
+        private final Map<String, VariantAssigner> assigners = new LinkedHashMap<>();
+        private final Map<String, ExperimentLayer.Builder> layers = new HashMap<>();
+
+        public Builder(long version) {
+            this.version = version;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the experiment is a duplicate or overlaps another experiment of its
+         *                                  layer; the builder is unchanged, so the caller can skip it and go on
+         */
+        public Builder add(Experiment experiment) {
+            if (assigners.containsKey(experiment.key())) {
+                throw new IllegalArgumentException("Duplicate experiment " + experiment.key());
+            }
+            VariantAssigner assigner = new VariantAssigner(experiment);
+            LayerAllocation allocation = experiment.allocation();
+            if (allocation != null) {
+                layers.computeIfAbsent(allocation.layer(), key -> new ExperimentLayer.Builder(key, allocation.layerSalt()))
+                        .add(assigner);
+            }
+            assigners.put(experiment.key(), assigner);
+            return this;
+        }
+
+        public ExperimentSnapshot build() {
+            Map<String, ExperimentLayer> built = new HashMap<>();
+            layers.forEach((key, layer) -> built.put(key, layer.build()));
+            return new ExperimentSnapshot(version, Map.copyOf(assigners), Map.copyOf(built));
+        }
+    }
+}
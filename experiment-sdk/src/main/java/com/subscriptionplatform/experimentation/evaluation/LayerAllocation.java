@@ -0,0 +1,42 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.UUID;
+
+/**
+ * The buckets a layered experiment owns in its layer. Users are hashed into a layer's buckets with the layer salt,
+ * independently of the experiment salt that then picks their variant, so an experiment's variant split does not
+ * depend on which buckets it owns and ramping up keeps every existing user in the same variant. Layer seeds are
+ * derived from a prefixed salt ({@link #seed}), so the two hashes stay independent even when a layer and an
+ * experiment share a salt (both default to their keys); otherwise a contiguous bucket range would see only a
+ * narrow slice of the variant hash.
+ */
+public record LayerAllocation(String layer, String layerSalt, BucketSet buckets) {
+
+    // Part of the assignment contract, like the constants of AssignmentHash; Experiment rejects salts with it
+    static final String LAYER_SEED_PREFIX = "layer:";
+
+    public LayerAllocation {
+        if (layer == null || layer.isBlank()) {
+            throw new IllegalArgumentException("Layer key is required");
+        }
+        if (layerSalt == null || layerSalt.isEmpty()) {
+            layerSalt = layer;
+        }
+        if (buckets == null) {
+            throw new IllegalArgumentException("Buckets are required for layer " + layer);
+        }
+    }
+
+    /**
+     * Seed for {@link #bucket}; never equal to the {@link AssignmentHash#seed seed} of an experiment salt, as
+     * {@link Experiment} rejects salts starting with the layer prefix.
+     */
+    public static long seed(String layerSalt) {
+        return AssignmentHash.seed(LAYER_SEED_PREFIX + layerSalt);
+    }
+
+    /** The user's bucket in a layer with the given {@link #seed seed}. */
+    public static int bucket(long layerSeed, UUID userId) {
+        return AssignmentHash.reduce(AssignmentHash.hash(layerSeed, userId), BucketSet.BUCKETS);
+    }
+}
@@ -0,0 +1,10 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+/** Subscription plans as modeled by subscription-service; callers and events refer to them by name. */
+public enum Plan {
+    FREE,
+    INDIVIDUAL,
+    DUO,
+    FAMILY,
+    STUDENT
+}
@@ -0,0 +1,12 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+/** Subscription statuses as modeled by subscription-service; callers and events refer to them by name. */
+public enum SubscriptionStatus {
+    FREE,
+    TRIALING,
+    ACTIVE,
+    PAST_DUE,
+    GRACE_PERIOD,
+    CANCELED,
+    EXPIRED
+}
@@ -0,0 +1,90 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.Locale;
+
+/**
+ * Attributes of the user being assigned, in the form compiled {@link TargetingRule}s compare against: enums, the
+ * country as an index into the ISO 3166 alpha-2 letter grid and the app version packed into a {@code long}. Built
+ * once per request; evaluating any number of rules against it does no parsing, boxing or map lookups. Unknown
+ * attributes are null or -1 and match no condition on them.
+ */
+public final class TargetingContext {
+
+    public static final TargetingContext UNKNOWN = new TargetingContext(null, null, -1, -1);
+
+    private final Plan plan;
+    private final SubscriptionStatus status;
+    private final int country;
+    private final long appVersion;
+
+    private TargetingContext(Plan plan, SubscriptionStatus status, int country, long appVersion) {
+        this.plan = plan;
+        this.status = status;
+        this.country = country;
+        this.appVersion = appVersion;
+    }
+
+    /**
+     * @param country    ISO 3166 alpha-2 code, any case; null if unknown
+     * @param appVersion {@code major[.minor[.patch]]}; null if unknown
+     * @throws IllegalArgumentException for a malformed country or version
+     */
+    public static TargetingContext of(Plan plan, SubscriptionStatus status, String country, String appVersion) {
+        return new TargetingContext(plan, status,
+                country == null ? -1 : countryIndex(country),
+                appVersion == null ? -1 : packVersion(appVersion));
+    }
+
+    public Plan plan() {
+        return plan;
+    }
+
+    public SubscriptionStatus status() {
+        return status;
+    }
+
+    /** Index 0..675 of the alpha-2 code ({@code AA} = 0), or -1. */
+    int country() {
+        return country;
+    }
+
+    /** {@code major << 32 | minor << 16 | patch}, so packed versions compare like the versions; or -1. */
+    long appVersion() {
+        return appVersion;
+    }
+
+    static int countryIndex(String code) {
+        String upper = code.toUpperCase(Locale.ROOT);
+        if (upper.length() != 2 || !isLetter(upper.charAt(0)) || !isLetter(upper.charAt(1))) {
+            throw new IllegalArgumentException("Country must be an ISO 3166 alpha-2 code: " + code);
+        }
+        return (upper.charAt(0) - 'A') * 26 + (upper.charAt(1) - 'A');
+    }
+
+    static long packVersion(String version) {
+        String[] parts = version.split("\\.", -1);
+        if (parts.length > 3) {
+            throw new IllegalArgumentException("App version must be major[.minor[.patch]]: " + version);
+        }
+        long packed = 0;
+        for (int i = 0; i < 3; i++) {
+            long part = i < parts.length ? parseVersionPart(parts[i], version) : 0;
+            if (i > 0 && part > 0xFFFF || part > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("App version part out of range: " + version);
+            }
+            packed = packed << 16 | part;
+        }
+        return packed;
+    }
+
+    private static long parseVersionPart(String part, String version) {
+        if (part.isEmpty() || part.length() > 10 || !part.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("App version must be major[.minor[.patch]]: " + version);
+        }
+        return Long.parseLong(part);
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
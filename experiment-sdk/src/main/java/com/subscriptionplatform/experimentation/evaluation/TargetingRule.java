@@ -0,0 +1,14 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+/**
+ * Compiled audience rule of an experiment: whether a user may be assigned at all. Instances come from
+ * {@link TargetingRules#compile}, are immutable and safe to share between threads.
+ */
+@FunctionalInterface
+public interface TargetingRule {
+
+    /** Experiments without targeting. */
+    TargetingRule EVERYONE = context -> true;
+
+    boolean matches(TargetingContext context);
+}
@@ -0,0 +1,292 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Compiles the targeting rule language stored with each experiment into {@link TargetingRule} evaluators. The JSON
+ * tree is read once per config reload; each node becomes a small object specialized for its attribute and
+ * operator, so evaluation is a few field reads and bit tests with no parsing, boxing or map lookups:
+ * <pre>
+ * {"all": [                                               every child matches (short-circuits on the first miss)
+ *   {"attribute": "plan", "in": ["INDIVIDUAL", "FAMILY"]}, plan / status: "in" [names] or "eq" name
+ *   {"attribute": "status", "eq": "ACTIVE"},
+ *   {"any": [                                             some child matches (short-circuits on the first hit)
+ *     {"attribute": "country", "in": ["SE", "NO"]},       country: "in" [alpha-2 codes] or "eq" code
+ *     {"not": {"attribute": "appVersion", "lt": "5.2"}}   appVersion: "gte", "lt" or "eq" major[.minor[.patch]]
+ *   ]}
+ * ]}
+ * </pre>
+ * Set membership is a bit test: plans and statuses by ordinal, countries over the 676 alpha-2 letter pairs. A
+ * condition on an attribute the context does not know is false, also under {@code not}: negations are pushed down to
+ * the conditions (De Morgan) and a negated condition requires the attribute to be known, so
+ * {@code {"not": {"attribute": "country", "eq": "US"}}} does not match users whose country is unknown. Trees are
+ * limited to {@value #MAX_NODES} nodes.
+ */
+public final class TargetingRules {
+
+    static final int MAX_NODES = 256;
+
+    private static final TargetingRule PLAN_KNOWN = context -> context.plan() != null;
+    private static final TargetingRule STATUS_KNOWN = context -> context.status() != null;
+    private static final TargetingRule COUNTRY_KNOWN = context -> context.country() >= 0;
+    private static final TargetingRule APP_VERSION_KNOWN = context -> context.appVersion() >= 0;
+
+    private TargetingRules() {
+    }
+
+    /** @throws IllegalArgumentException if the rule is malformed or too large */
+    public static TargetingRule compile(JsonNode rule) {
+        if (rule == null || rule.isNull()) {
+            return TargetingRule.EVERYONE;
+        }
+        return new Compiler().compile(rule, "$", false);
+    }
+
+    private static final class Compiler {
+
+        private int nodes;
+
+        /** @param negated whether an odd number of {@code not}s encloses the node */
+        TargetingRule compile(JsonNode node, String path, boolean negated) {
+            if (++nodes > MAX_NODES) {
+                throw new IllegalArgumentException("Targeting rule has more than " + MAX_NODES + " nodes");
+            }
+            if (!node.isObject() || node.size() == 0) {
+                throw new IllegalArgumentException("Targeting rule at " + path + " must be a non-empty object");
+            }
+            if (node.has("all")) {
+                List<TargetingRule> children = children(node, "all", path, negated);
+                return negated ? any(children) : all(children);
+            }
+            if (node.has("any")) {
+                List<TargetingRule> children = children(node, "any", path, negated);
+                return negated ? all(children) : any(children);
+            }
+            if (node.has("not")) {
+                expectFields(node, path, "not");
+                return compile(node.get("not"), path + ".not", !negated);
+            }
+            JsonNode attribute = node.get("attribute");
+            if (attribute == null || !attribute.isTextual()) {
+                throw new IllegalArgumentException("Targeting rule at " + path + " needs all, any, not or attribute");
+            }
+            return switch (attribute.asText()) {
+                case "plan" -> negate(new PlanIn(enumMask(Plan.class, values(node, path, "in", "eq"), path)),
+                        PLAN_KNOWN, negated);
+                case "status" -> negate(new StatusIn(enumMask(SubscriptionStatus.class, values(node, path, "in", "eq"), path)),
+                        STATUS_KNOWN, negated);
+                case "country" -> negate(countryIn(values(node, path, "in", "eq"), path), COUNTRY_KNOWN, negated);
+                case "appVersion" -> negate(appVersion(node, path), APP_VERSION_KNOWN, negated);
+                default -> throw new IllegalArgumentException("Unknown targeting attribute at " + path + ": " + attribute.asText());
+            };
+        }
+
+        private static TargetingRule negate(TargetingRule condition, TargetingRule known, boolean negated) {
+            return negated ? new NotCondition(condition, known) : condition;
+        }
+
+        private List<TargetingRule> children(JsonNode node, String field, String path, boolean negated) {
+            expectFields(node, path, field);
+            JsonNode array = node.get(field);
+            if (!array.isArray() || array.isEmpty()) {
+                throw new IllegalArgumentException("Targeting rule at " + path + "." + field + " must be a non-empty array");
+            }
+            List<TargetingRule> children = new ArrayList<>();
+            for (int i = 0; i < array.size(); i++) {
+                children.add(compile(array.get(i), path + "." + field + "[" + i + "]", negated));
+            }
+            return children;
+        }
+
+        /** Text values of the node's single operator, which must be one of {@code operators}. */
+        private List<String> values(JsonNode node, String path, String... operators) {
+            String operator = operator(node, path, operators);
+            JsonNode value = node.get(operator);
+            List<String> values = new ArrayList<>();
+            if (operator.equals("eq")) {
+                values.add(text(value, path));
+            } else if (value.isArray() && !value.isEmpty()) {
+                value.forEach(v -> values.add(text(v, path)));
+            } else {
+                throw new IllegalArgumentException("Targeting rule at " + path + "." + operator + " must be a non-empty array");
+            }
+            return values;
+        }
+
+        private String operator(JsonNode node, String path, String... operators) {
+            for (String operator : operators) {
+                if (node.has(operator)) {
+                    expectFields(node, path, "attribute", operator);
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Targeting rule at " + path + " needs one of " + String.join(", ", operators));
+        }
+
+        private TargetingRule appVersion(JsonNode node, String path) {
+            String operator = operator(node, path, "gte", "lt", "eq");
+            long version = TargetingContext.packVersion(text(node.get(operator), path));
+            return switch (operator) {
+                case "gte" -> new AppVersionAtLeast(version);
+                case "lt" -> new AppVersionBelow(version);
+                default -> new AppVersionEquals(version);
+            };
+        }
+
+        private static <E extends Enum<E>> long enumMask(Class<E> type, List<String> names, String path) {
+            long mask = 0;
+            for (String name : names) {
+                try {
+                    mask |= 1L << Enum.valueOf(type, name).ordinal();
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " at " + path + ": " + name);
+                }
+            }
+            return mask;
+        }
+
+        private static TargetingRule countryIn(List<String> codes, String path) {
+            long[] bits = new long[(26 * 26 + 63) / 64];
+            for (String code : codes) {
+                int index = TargetingContext.countryIndex(code);
+                bits[index >>> 6] |= 1L << index;
+            }
+            return new CountryIn(bits);
+        }
+
+        private static String text(JsonNode value, String path) {
+            if (value == null || !value.isTextual()) {
+                throw new IllegalArgumentException("Targeting rule at " + path + " expects string values");
+            }
+            return value.asText();
+        }
+
+        private static void expectFields(JsonNode node, String path, String... fields) {
+            if (node.size() != fields.length) {
+                List<String> names = new ArrayList<>();
+                for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                    names.add(it.next());
+                }
+                throw new IllegalArgumentException("Targeting rule at " + path + " expects exactly "
+                        + String.join(", ", fields) + " but has " + names);
+            }
+        }
+    }
+
+    private static TargetingRule all(List<TargetingRule> children) {
+        children.removeIf(child -> child == TargetingRule.EVERYONE);
+        return switch (children.size()) {
+            case 0 -> TargetingRule.EVERYONE;
+            case 1 -> children.get(0);
+            case 2 -> new All2(children.get(0), children.get(1));
+            default -> new All(children.toArray(TargetingRule[]::new));
+        };
+    }
+
+    private static TargetingRule any(List<TargetingRule> children) {
+        if (children.contains(TargetingRule.EVERYONE)) {
+            return TargetingRule.EVERYONE;
+        }
+        return children.size() == 1 ? children.get(0) : new Any(children.toArray(TargetingRule[]::new));
+    }
+
+    private record PlanIn(long mask) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            Plan plan = context.plan();
+            return plan != null && (mask & 1L << plan.ordinal()) != 0;
+        }
+    }
+
+    private record StatusIn(long mask) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            SubscriptionStatus status = context.status();
+            return status != null && (mask & 1L << status.ordinal()) != 0;
+        }
+    }
+
+    private record CountryIn(long[] bits) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            int country = context.country();
+            return country >= 0 && (bits[country >>> 6] & 1L << country) != 0;
+        }
+    }
+
+    private record AppVersionAtLeast(long version) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            return context.appVersion() >= version; // Unknown (-1) is below every version
+        }
+    }
+
+    private record AppVersionBelow(long version) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            long appVersion = context.appVersion();
+            return appVersion >= 0 && appVersion < version;
+        }
+    }
+
+    private record AppVersionEquals(long version) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            return context.appVersion() == version;
+        }
+    }
+
+    /** A negated condition: still false when the attribute is unknown. */
+    private record NotCondition(TargetingRule condition, TargetingRule known) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            return known.matches(context) && !condition.matches(context);
+        }
+    }
+
+    /** The common two-condition case without the loop. */
+    private record All2(TargetingRule first, TargetingRule second) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            return first.matches(context) && second.matches(context);
+        }
+    }
+
+    private record All(TargetingRule[] rules) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            for (TargetingRule rule : rules) {
+                if (!rule.matches(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Any(TargetingRule[] rules) implements TargetingRule {
+
+        @Override
+        public boolean matches(TargetingContext context) {
+            for (TargetingRule rule : rules) {
+                if (rule.matches(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
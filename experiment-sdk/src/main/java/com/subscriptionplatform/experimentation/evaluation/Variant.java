@@ -0,0 +1,17 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+/**
+ * One arm of an experiment. {@code weight} is relative to the other variants of the same experiment: weights
+ * 1/1 and 50/50 both split traffic evenly. A variant with weight 0 is kept in the definition but gets no users.
+ */
+public record Variant(String key, int weight) {
+
+    public Variant {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Variant key is required");
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Variant weight must not be negative: " + key + "=" + weight);
+        }
+    }
+}
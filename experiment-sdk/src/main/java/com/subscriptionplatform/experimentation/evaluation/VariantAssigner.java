@@ -0,0 +1,80 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import java.util.UUID;
+
+/**
+ * Deterministic user-to-variant assignment for one {@link Experiment}, compiled once per definition and then
+ * shared: every call is a pure function of the salt and the user id, so no assignment is stored or read and every
+ * instance agrees on a user's variant without coordination.
+ * <p>
+ * The user hash is reduced to a point in {@code [0, totalWeight)} and the variant is the one whose cumulative
+ * weight range contains it. {@link #assign(UUID)} only does arithmetic over the precomputed arrays and returns a
+ * variant of the definition, so it allocates nothing. Changing weights moves only the users between the old and
+ * new range boundaries; changing the variant order or the salt reshuffles users.
+ */
+public final class VariantAssigner {
+
+    private final Experiment experiment;
+    private final TargetingRule targeting;
+    private final BucketSet buckets; // null: not layered
+    private final long layerSeed;
+    private final long seed;
+    private final int totalWeight;
+    private final int[] upperBounds; // Exclusive cumulative weight per variant
+    private final Variant[] variants;
+
+    public VariantAssigner(Experiment experiment) {
+        this.experiment = experiment;
+        this.targeting = experiment.targeting();
+        LayerAllocation allocation = experiment.allocation();
+        this.buckets = allocation == null ? null : allocation.buckets();
+        this.layerSeed = allocation == null ? 0 : LayerAllocation.seed(allocation.layerSalt());
+        this.seed = AssignmentHash.seed(experiment.salt());
+        this.variants = experiment.variants().toArray(Variant[]::new);
+        this.upperBounds = new int[variants.length];
+        int cumulative = 0;
+        for (int i = 0; i < variants.length; i++) {
+            cumulative += variants[i].weight();
+            upperBounds[i] = cumulative;
+        }
+        this.totalWeight = cumulative;
+    }
+
+    public Experiment experiment() {
+        return experiment;
+    }
+
+    /** The user's variant, without checking layer buckets or targeting. */
+    public Variant assign(UUID userId) {
+        return variants[variantIndex(AssignmentHash.hash(seed, userId))];
+    }
+
+    /**
+     * @return the user's variant, or null if the user is outside the experiment's layer buckets or targeting. A
+     * layered experiment costs one extra hash and a bit test.
+     */
+    public Variant assign(UUID userId, TargetingContext context) {
+        return inBuckets(userId) ? assignIfTargeted(userId, context) : null;
+    }
+
+    /** For {@link ExperimentLayer}, which has already found the user's bucket to belong to this experiment. */
+    Variant assignIfTargeted(UUID userId, TargetingContext context) {
+        return targeting.matches(context) ? assign(userId) : null;
+    }
+
+    private boolean inBuckets(UUID userId) {
+        return buckets == null || buckets.contains(LayerAllocation.bucket(layerSeed, userId));
+    }
+
+    /** Index into {@link Experiment#variants()} for the given user hash. */
+    int variantIndex(long hash) {
+        int point = AssignmentHash.reduce(hash, totalWeight);
+        // Experiments have a handful of variants: a linear scan beats a binary search at that size
+        for (int i = 0; i < upperBounds.length - 1; i++) {
+            if (point < upperBounds[i]) {
+                return i;
+            }
+        }
+        return upperBounds.length - 1;
+    }
+}
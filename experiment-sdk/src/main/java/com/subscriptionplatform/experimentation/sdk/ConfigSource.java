@@ -0,0 +1,15 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import com.subscriptionplatform.experimentation.evaluation.ExperimentConfig;
+
+import java.io.IOException;
+
+/** Where an {@link ExperimentClient} gets experiment configuration from. */
+public interface ConfigSource {
+
+    /**
+     * @param knownVersion version of the config the client runs, -1 before the first fetch
+     * @return the current config, or null if it is still {@code knownVersion}
+     */
+    ExperimentConfig fetch(long knownVersion) throws IOException, InterruptedException;
+}
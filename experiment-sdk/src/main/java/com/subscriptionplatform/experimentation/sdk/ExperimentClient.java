@@ -0,0 +1,206 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import com.subscriptionplatform.experimentation.evaluation.ExperimentConfig;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentSnapshot;
+import com.subscriptionplatform.experimentation.evaluation.TargetingContext;
+import com.subscriptionplatform.experimentation.evaluation.Variant;
+import com.subscriptionplatform.experimentation.evaluation.VariantAssigner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process experiment decisions for services that would otherwise call experimentation-service per flag check.
+ * <p>
+ * The client keeps an {@link ExperimentSnapshot} compiled from the server's {@link ExperimentConfig} with the same
+ * code the server uses, so a decision here always equals the server's for the same config version. A decision is
+ * a volatile read plus the hashing and rule checks, without I/O. Config is refreshed every
+ * {@code refreshInterval} by a conditional fetch; a failed refresh keeps the previous snapshot.
+ * <p>
+ * {@link #assign} queues an exposure in a bounded buffer that a background thread publishes in batches every
+ * {@code flushInterval}. Callers never block on the sink: when the buffer is full the exposure is dropped and
+ * counted ({@link #droppedExposures()}). {@link #close()} publishes what is still buffered.
+ * <pre>
+ * ExperimentClient experiments = ExperimentClient.builder(new HttpConfigSource(uri, Duration.ofSeconds(2)))
+ *         .exposureSink(new KafkaExposureSink("kafka:9092"))
+ *         .build();                         // Loads the config before returning
+ * Variant variant = experiments.assign("paywall-copy", userId, TargetingContext.of(plan, status, "SE", "5.4.1"));
+ * </pre>
+ */
+public final class ExperimentClient implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExperimentClient.class);
+
+    private final ConfigSource configSource;
+    private final ExposureSink exposureSink;
+    private final BlockingQueue<Exposure> exposures;
+    private final int maxBatchSize;
+    private final Clock clock;
+    private final ScheduledExecutorService background;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile ExperimentSnapshot snapshot = ExperimentSnapshot.EMPTY;
+
+    private ExperimentClient(Builder builder) {
+        this.configSource = builder.configSource;
+        this.exposureSink = builder.exposureSink;
+        this.exposures = new ArrayBlockingQueue<>(builder.exposureBufferSize);
+        this.maxBatchSize = builder.maxBatchSize;
+        this.clock = builder.clock;
+        this.background = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("experiment-client").daemon().factory());
+        refresh();
+        long refreshMillis = builder.refreshInterval.toMillis();
+        background.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        long flushMillis = builder.flushInterval.toMillis();
+        background.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static Builder builder(ConfigSource configSource) {
+        return new Builder(configSource);
+    }
+
+    /** The user's variant, or null if the experiment is not running or the user is not in it. Records nothing. */
+    public Variant evaluate(String experimentKey, UUID userId, TargetingContext context) {
+        VariantAssigner assigner = snapshot.assigner(experimentKey);
+        return assigner == null ? null : assigner.assign(userId, context);
+    }
+
+    /** {@link #evaluate}, and queues an exposure if the user gets a variant. Use it where the variant is shown. */
+    public Variant assign(String experimentKey, UUID userId, TargetingContext context) {
+        ExperimentSnapshot current = snapshot;
+        VariantAssigner assigner = current.assigner(experimentKey);
+        Variant variant = assigner == null ? null : assigner.assign(userId, context);
+        if (variant != null) {
+            Exposure exposure = new Exposure(experimentKey, variant.key(), userId, current.version(), clock.instant());
+            if (!exposures.offer(exposure)) {
+                dropped.incrementAndGet();
+            }
+        }
+        return variant;
+    }
+
+    public ExperimentSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /** Exposures lost to a full buffer or a failed publish since the client started. */
+    public long droppedExposures() {
+        return dropped.get();
+    }
+
+    /** Fetches the config if it changed; also runs every {@code refreshInterval}. */
+    public synchronized void refresh() {
+        long knownVersion = snapshot.version();
+        try {
+            ExperimentConfig config = configSource.fetch(knownVersion);
+            if (config == null || config.version() == knownVersion) {
+                return;
+            }
+            snapshot = config.compile((key, e) -> log.warn("Skipping experiment {}: {}", key, e.getMessage()));
+            log.info("Experiment config loaded version={} experiments={}", config.version(), snapshot.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Experiment config refresh failed, keeping version {}: {}", knownVersion, e.toString());
+        }
+    }
+
+    /** Stops refreshing and publishes the buffered exposures. */
+    @Override
+    public void close() {
+        background.shutdown();
+        try {
+            if (!background.awaitTermination(10, TimeUnit.SECONDS)) {
+                background.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            background.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        exposureSink.close();
+    }
+
+    private void flush() {
+        List<Exposure> batch = new ArrayList<>(Math.min(maxBatchSize, exposures.size()));
+        while (exposures.drainTo(batch, maxBatchSize) > 0) {
+            try {
+                exposureSink.publish(batch);
+            } catch (Exception e) {
+                dropped.addAndGet(batch.size());
+                log.warn("Dropped {} exposures: {}", batch.size(), e.toString());
+            }
+            batch.clear();
+        }
+    }
+
+    public static final class Builder {
+
+        private final ConfigSource configSource;
+        private ExposureSink exposureSink = batch -> {
+        };
+        private Duration refreshInterval = Duration.ofSeconds(10);
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private int exposureBufferSize = 100_000;
+        private int maxBatchSize = 1_000;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(ConfigSource configSource) {
+            this.configSource = configSource;
+        }
+
+        /** Defaults to discarding exposures, for callers that only evaluate. */
+        public Builder exposureSink(ExposureSink exposureSink) {
+            this.exposureSink = exposureSink;
+            return this;
+        }
+
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /** Exposures buffered between flushes; beyond this they are dropped instead of blocking callers. */
+        public Builder exposureBufferSize(int exposureBufferSize) {
+            this.exposureBufferSize = exposureBufferSize;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /** Builds the client and loads the config once, so it decides on real definitions from the first call. */
+        public ExperimentClient build() {
+            if (!refreshInterval.isPositive() || !flushInterval.isPositive()) {
+                throw new IllegalArgumentException("Refresh and flush intervals must be positive");
+            }
+            if (exposureBufferSize < 1 || maxBatchSize < 1) {
+                throw new IllegalArgumentException("Exposure buffer and batch sizes must be positive");
+            }
+            return new ExperimentClient(this);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** A user was shown a variant; the analytics service joins exposures with conversions per variant. */
+public record Exposure(String experimentKey, String variant, UUID userId, long configVersion, Instant exposedAt) {
+}
@@ -0,0 +1,14 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import java.util.List;
+
+/** Receives buffered exposures from the {@link ExperimentClient}'s background thread, in batches. */
+public interface ExposureSink extends AutoCloseable {
+
+    /** @throws Exception if the batch could not be delivered; the client counts it as dropped */
+    void publish(List<Exposure> batch) throws Exception;
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,46 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Polls {@code GET /experiments/config} on experimentation-service with {@code If-None-Match}, so an unchanged
+ * config costs a 304 without a body.
+ */
+public final class HttpConfigSource implements ConfigSource {
+
+    private final HttpClient httpClient;
+    private final URI configUri;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // Newer servers may add fields
+
+    /** @param baseUri experimentation-service root, e.g. {@code http://experimentation-service:8083} */
+    public HttpConfigSource(URI baseUri, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.configUri = baseUri.resolve("/experiments/config");
+        this.timeout = timeout;
+    }
+
+    @Override
+    public ExperimentConfig fetch(long knownVersion) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(configUri).timeout(timeout).GET();
+        if (knownVersion >= 0) {
+            request.header("If-None-Match", "\"" + knownVersion + "\"");
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return switch (response.statusCode()) {
+            case 200 -> objectMapper.readValue(response.body(), ExperimentConfig.class);
+            case 304 -> null;
+            default -> throw new IOException("GET " + configUri + " returned " + response.statusCode());
+        };
+    }
+}
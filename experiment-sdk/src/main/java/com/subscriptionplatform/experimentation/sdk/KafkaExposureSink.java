@@ -0,0 +1,68 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Future;
+
+/**
+ * Publishes exposures as JSON to {@code experiment.exposures}, keyed by user id so one user's exposures stay in
+ * order. A batch is sent in one go and acknowledged before the next; exposures are analytics, so a failed batch
+ * is dropped rather than retried indefinitely (the producer itself still retries).
+ */
+public final class KafkaExposureSink implements ExposureSink {
+
+    public static final String TOPIC = "experiment.exposures";
+
+    private final Producer<String, byte[]> producer;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public KafkaExposureSink(String bootstrapServers) {
+        this(createProducer(bootstrapServers));
+    }
+
+    KafkaExposureSink(Producer<String, byte[]> producer) {
+        this.producer = producer;
+    }
+
+    @Override
+    public void publish(List<Exposure> batch) throws Exception {
+        List<Future<?>> sends = new ArrayList<>(batch.size());
+        for (Exposure exposure : batch) {
+            sends.add(producer.send(new ProducerRecord<>(TOPIC, exposure.userId().toString(),
+                    objectMapper.writeValueAsBytes(exposure))));
+        }
+        producer.flush();
+        for (Future<?> send : sends) {
+            send.get();
+        }
+    }
+
+    @Override
+    public void close() {
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    private static Producer<String, byte[]> createProducer(String bootstrapServers) {
+        Properties config = new Properties();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 20); // Batches are already large; let the producer fill requests
+        return new KafkaProducer<>(config);
+    }
+}
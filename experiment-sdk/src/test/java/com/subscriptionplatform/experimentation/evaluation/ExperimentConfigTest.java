@@ -0,0 +1,68 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperimentConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compile_afterJsonRoundTrip_assignsLikeTheOriginal() throws Exception {
+        ExperimentConfig config = new ExperimentConfig(42, List.of(
+                new ExperimentDefinition("pricing", "pricing-2024", List.of(new Variant("a", 1), new Variant("b", 3)),
+                        objectMapper.readTree("{\"attribute\": \"country\", \"in\": [\"SE\", \"NO\"]}"), null),
+                new ExperimentDefinition("paywall", "paywall", List.of(new Variant("control", 1), new Variant("treatment", 1)),
+                        null, new ExperimentDefinition.Layer("checkout", "checkout-salt",
+                        List.of(new BucketRange(0, 2_500), new BucketRange(7_000, 7_100))))));
+
+        ExperimentConfig parsed = objectMapper.readValue(objectMapper.writeValueAsBytes(config), ExperimentConfig.class);
+        ExperimentSnapshot original = config.compile((key, e) -> fail(key + ": " + e.getMessage()));
+        ExperimentSnapshot roundTripped = parsed.compile((key, e) -> fail(key + ": " + e.getMessage()));
+
+        assertEquals(config, parsed);
+        assertEquals(42, roundTripped.version());
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            UUID userId = new UUID(random.nextLong(), random.nextLong());
+            TargetingContext context = TargetingContext.of(Plan.FREE, SubscriptionStatus.FREE, i % 2 == 0 ? "SE" : "DE", null);
+            for (String key : List.of("pricing", "paywall")) {
+                assertEquals(original.assigner(key).assign(userId, context), roundTripped.assigner(key).assign(userId, context));
+            }
+        }
+    }
+
+    @Test
+    void compile_skipsAndReportsInvalidDefinitions() throws Exception {
+        List<String> invalid = new ArrayList<>();
+        ExperimentConfig config = new ExperimentConfig(1, List.of(
+                new ExperimentDefinition("bad-rule", "s", List.of(new Variant("a", 1)),
+                        objectMapper.readTree("{\"attribute\": \"shoeSize\", \"gte\": 42}"), null),
+                new ExperimentDefinition("first", "s", List.of(new Variant("a", 1)), null,
+                        new ExperimentDefinition.Layer("layer", "l", List.of(new BucketRange(0, 100)))),
+                new ExperimentDefinition("overlapping", "s", List.of(new Variant("a", 1)), null,
+                        new ExperimentDefinition.Layer("layer", "l", List.of(new BucketRange(50, 150))))));
+
+        ExperimentSnapshot snapshot = config.compile((key, e) -> invalid.add(key));
+
+        assertEquals(List.of("bad-rule", "overlapping"), invalid);
+        assertEquals(1, snapshot.size());
+        assertNotNull(snapshot.assigner("first"));
+    }
+
+    @Test
+    void bucketSet_ranges_roundTripThroughOf() {
+        BucketSet buckets = BucketSet.range(0, 64).union(BucketSet.range(130, 131)).union(BucketSet.range(9_990, 10_000));
+
+        assertEquals(List.of(new BucketRange(0, 64), new BucketRange(130, 131), new BucketRange(9_990, 10_000)), buckets.ranges());
+        assertEquals(buckets, BucketSet.of(buckets.ranges()));
+        assertEquals(List.of(), BucketSet.NONE.ranges());
+    }
+}
@@ -0,0 +1,138 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperimentLayerTest {
+
+    private static final int USERS = 200_000;
+    private static final List<Variant> SPLIT = List.of(new Variant("control", 1), new Variant("treatment", 1));
+
+    private final Random random = new Random(7);
+
+    @Test
+    void experimentsOfALayer_neverShareUsers_andGetTheirBucketShare() {
+        VariantAssigner paywall = layered("paywall", BucketSet.range(0, 2_000));
+        VariantAssigner pricing = layered("pricing", BucketSet.range(2_000, 7_000));
+        ExperimentLayer layer = new ExperimentLayer.Builder("checkout", "checkout").add(paywall).add(pricing).build();
+
+        int inPaywall = 0;
+        int inPricing = 0;
+        for (int i = 0; i < USERS; i++) {
+            UUID userId = randomUser();
+            Variant a = paywall.assign(userId, TargetingContext.UNKNOWN);
+            Variant b = pricing.assign(userId, TargetingContext.UNKNOWN);
+            assertFalse(a != null && b != null, "user in both experiments");
+            VariantAssigner owner = layer.experimentFor(userId);
+            assertSame(a != null ? paywall : b != null ? pricing : null, owner);
+            inPaywall += a != null ? 1 : 0;
+            inPricing += b != null ? 1 : 0;
+        }
+
+        assertEquals(0.2, (double) inPaywall / USERS, 0.01);
+        assertEquals(0.5, (double) inPricing / USERS, 0.01);
+    }
+
+    @Test
+    void rampingUp_keepsEveryExistingUserInTheirVariant() {
+        BucketSet tenPercent = BucketSet.range(0, 1_000);
+        BucketSet fortyPercent = tenPercent.union(BucketSet.range(5_000, 8_000));
+        VariantAssigner before = layered("paywall", tenPercent);
+        VariantAssigner after = layered("paywall", fortyPercent);
+
+        int added = 0;
+        for (int i = 0; i < USERS; i++) {
+            UUID userId = randomUser();
+            Variant was = before.assign(userId, TargetingContext.UNKNOWN);
+            Variant is = after.assign(userId, TargetingContext.UNKNOWN);
+            if (was != null) {
+                assertEquals(was, is);
+            } else if (is != null) {
+                added++;
+            }
+        }
+        assertTrue(fortyPercent.containsAll(tenPercent));
+        assertEquals(0.3, (double) added / USERS, 0.01);
+    }
+
+    @Test
+    void layerAndExperimentSharingASalt_stillSplitByTheVariantWeights() {
+        // Experiment and layer salts both default to their keys, so nothing prevents them being equal
+        List<Variant> weighted = List.of(new Variant("control", 3), new Variant("treatment", 1));
+        VariantAssigner checkout = new VariantAssigner(new Experiment("checkout", "checkout", weighted,
+                TargetingRule.EVERYONE, new LayerAllocation("checkout", "checkout", BucketSet.range(0, 1_000))));
+
+        int in = 0;
+        int control = 0;
+        for (int i = 0; i < USERS; i++) {
+            Variant variant = checkout.assign(randomUser(), TargetingContext.UNKNOWN);
+            if (variant != null) {
+                in++;
+                control += variant.key().equals("control") ? 1 : 0;
+            }
+        }
+
+        assertEquals(0.1, (double) in / USERS, 0.005);
+        assertEquals(0.75, (double) control / in, 0.02);
+        assertNotEquals(AssignmentHash.seed("checkout"), LayerAllocation.seed("checkout"));
+    }
+
+    @Test
+    void experimentSaltWithTheLayerSeedPrefix_isRejected() {
+        // Its seed would equal the seed of layer "checkout"
+        assertThrows(IllegalArgumentException.class, () -> new Experiment("pricing", "layer:checkout", SPLIT));
+        assertThrows(IllegalArgumentException.class, () -> new Experiment("layer:checkout", SPLIT));
+    }
+
+    @Test
+    void untargetedUsersOfAnOwnedBucket_getNoExperiment() {
+        TargetingRule familyOnly = context -> context.plan() == Plan.FAMILY;
+        VariantAssigner family = new VariantAssigner(new Experiment("family", "family", SPLIT, familyOnly,
+                new LayerAllocation("checkout", "checkout", BucketSet.range(0, BucketSet.BUCKETS))));
+        ExperimentLayer layer = new ExperimentLayer.Builder("checkout", "checkout").add(family).build();
+        UUID userId = randomUser();
+
+        assertSame(family, layer.experimentFor(userId));
+        assertNull(layer.assign(userId, TargetingContext.of(Plan.DUO, null, null, null)));
+        assertNotNull(layer.assign(userId, TargetingContext.of(Plan.FAMILY, null, null, null)));
+    }
+
+    @Test
+    void builder_rejectsOverlapsAndForeignLayers_withoutChangingTheLayer() {
+        VariantAssigner paywall = layered("paywall", BucketSet.range(0, 2_000));
+        ExperimentLayer.Builder builder = new ExperimentLayer.Builder("checkout", "checkout").add(paywall);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(layered("pricing", BucketSet.range(1_999, 3_000))));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(new VariantAssigner(new Experiment("other", SPLIT))));
+
+        assertEquals(List.of(paywall), builder.build().experiments());
+    }
+
+    @Test
+    void bucketSet_roundTripsThroughPostgresBitText() {
+        BucketSet buckets = BucketSet.range(0, 3).union(BucketSet.range(9_998, 10_000));
+        String bits = buckets.toString();
+
+        assertEquals(BucketSet.BUCKETS, bits.length());
+        assertTrue(bits.startsWith("1110"));
+        assertTrue(bits.endsWith("011"));
+        assertEquals(buckets, BucketSet.parse(bits));
+        assertEquals(5, buckets.size());
+        assertThrows(IllegalArgumentException.class, () -> BucketSet.parse("101"));
+        assertThrows(IllegalArgumentException.class, () -> BucketSet.range(0, BucketSet.BUCKETS + 1));
+    }
+
+    private static VariantAssigner layered(String key, BucketSet buckets) {
+        return new VariantAssigner(new Experiment(key, key, SPLIT, TargetingRule.EVERYONE,
+                new LayerAllocation("checkout", "checkout", buckets)));
+    }
+
+    private UUID randomUser() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
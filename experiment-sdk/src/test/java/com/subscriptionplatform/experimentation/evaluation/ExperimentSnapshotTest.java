@@ -0,0 +1,55 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperimentSnapshotTest {
+
+    @Test
+    void assigner_findsRunningExperiments_andNullForOthers() {
+        ExperimentSnapshot snapshot = ExperimentSnapshot.of(7, List.of(
+                new Experiment("paywall", List.of(new Variant("control", 1))),
+                new Experiment("pricing", List.of(new Variant("a", 1), new Variant("b", 1)))));
+
+        assertEquals(7, snapshot.version());
+        assertEquals(2, snapshot.size());
+        assertEquals("pricing", snapshot.assigner("pricing").experiment().key());
+        assertNull(snapshot.assigner("unknown"));
+        assertEquals(0, ExperimentSnapshot.EMPTY.size());
+    }
+
+    @Test
+    void of_rejectsDuplicateKeys() {
+        Experiment experiment = new Experiment("paywall", List.of(new Variant("control", 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> ExperimentSnapshot.of(1, List.of(experiment, experiment)));
+    }
+
+    @Test
+    void lookupAndAssign_doNotAllocate() {
+        List<Experiment> experiments = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            experiments.add(new Experiment("experiment-" + i, List.of(new Variant("control", 1), new Variant("treatment", 1))));
+        }
+        ExperimentSnapshot snapshot = ExperimentSnapshot.of(1, experiments);
+        String[] keys = experiments.stream().map(Experiment::key).toArray(String[]::new);
+        UUID userId = UUID.randomUUID();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        int sink = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1_000_000; i++) {
+            sink += snapshot.assigner(keys[i % keys.length]).assign(userId).weight();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes over 1M lookups");
+    }
+}
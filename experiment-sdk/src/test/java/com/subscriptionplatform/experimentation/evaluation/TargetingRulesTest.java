@@ -0,0 +1,123 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetingRulesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String PAID_NORDICS = """
+            {"all": [
+              {"attribute": "plan", "in": ["INDIVIDUAL", "FAMILY"]},
+              {"attribute": "status", "eq": "ACTIVE"},
+              {"any": [
+                {"attribute": "country", "in": ["SE", "NO"]},
+                {"not": {"attribute": "appVersion", "lt": "5.2"}}
+              ]}
+            ]}
+            """;
+
+    @Test
+    void compiledRule_evaluatesEveryBranch() {
+        TargetingRule rule = compile(PAID_NORDICS);
+
+        assertTrue(rule.matches(TargetingContext.of(Plan.FAMILY, SubscriptionStatus.ACTIVE, "se", "4.0")));
+        assertTrue(rule.matches(TargetingContext.of(Plan.INDIVIDUAL, SubscriptionStatus.ACTIVE, "DE", "5.2.0")));
+        assertTrue(rule.matches(TargetingContext.of(Plan.INDIVIDUAL, SubscriptionStatus.ACTIVE, "DE", "10")));
+        assertFalse(rule.matches(TargetingContext.of(Plan.INDIVIDUAL, SubscriptionStatus.ACTIVE, "DE", "5.1.99")));
+        assertFalse(rule.matches(TargetingContext.of(Plan.DUO, SubscriptionStatus.ACTIVE, "SE", "6")));
+        assertFalse(rule.matches(TargetingContext.of(Plan.FAMILY, SubscriptionStatus.PAST_DUE, "SE", "6")));
+    }
+
+    @Test
+    void conditionsOnUnknownAttributes_areFalse() {
+        TargetingContext unknown = TargetingContext.UNKNOWN;
+
+        assertFalse(compile("{\"attribute\": \"plan\", \"in\": [\"FREE\"]}").matches(unknown));
+        assertFalse(compile("{\"attribute\": \"country\", \"eq\": \"AA\"}").matches(unknown));
+        assertFalse(compile("{\"attribute\": \"appVersion\", \"lt\": \"99\"}").matches(unknown));
+        assertFalse(compile("{\"attribute\": \"appVersion\", \"gte\": \"0\"}").matches(unknown));
+        assertFalse(compile("{\"not\": {\"attribute\": \"appVersion\", \"gte\": \"1\"}}").matches(unknown));
+    }
+
+    @Test
+    void negatedConditionsOnUnknownAttributes_areFalseToo() {
+        TargetingRule notUs = compile("{\"not\": {\"attribute\": \"country\", \"eq\": \"US\"}}");
+        TargetingRule notPaidUs = compile("""
+                {"not": {"all": [{"attribute": "plan", "in": ["INDIVIDUAL"]}, {"attribute": "country", "eq": "US"}]}}
+                """);
+        TargetingRule doubleNegation = compile("{\"not\": {\"not\": {\"attribute\": \"country\", \"eq\": \"US\"}}}");
+
+        assertFalse(notUs.matches(TargetingContext.UNKNOWN));
+        assertTrue(notUs.matches(TargetingContext.of(null, null, "SE", null)));
+        assertFalse(notUs.matches(TargetingContext.of(null, null, "US", null)));
+        // not(plan and country) = not plan or not country: one known, non-matching attribute is enough
+        assertTrue(notPaidUs.matches(TargetingContext.of(Plan.FAMILY, null, null, null)));
+        assertFalse(notPaidUs.matches(TargetingContext.of(Plan.INDIVIDUAL, null, null, null)));
+        assertFalse(notPaidUs.matches(TargetingContext.of(Plan.INDIVIDUAL, null, "US", null)));
+        assertFalse(notPaidUs.matches(TargetingContext.UNKNOWN));
+        assertTrue(doubleNegation.matches(TargetingContext.of(null, null, "US", null)));
+        assertFalse(doubleNegation.matches(TargetingContext.UNKNOWN));
+    }
+
+    @Test
+    void countries_coverTheWholeLetterGrid() {
+        TargetingRule rule = compile("{\"attribute\": \"country\", \"in\": [\"AA\", \"ZZ\", \"SE\"]}");
+
+        assertTrue(rule.matches(TargetingContext.of(null, null, "aa", null)));
+        assertTrue(rule.matches(TargetingContext.of(null, null, "ZZ", null)));
+        assertFalse(rule.matches(TargetingContext.of(null, null, "ZY", null)));
+        assertThrows(IllegalArgumentException.class, () -> TargetingContext.of(null, null, "SWE", null));
+    }
+
+    @Test
+    void versions_compareNumericallyPerPart() {
+        assertTrue(TargetingContext.packVersion("5.10") > TargetingContext.packVersion("5.9.9"));
+        assertEquals(TargetingContext.packVersion("5"), TargetingContext.packVersion("5.0.0"));
+        assertTrue(compile("{\"attribute\": \"appVersion\", \"eq\": \"5.1\"}")
+                .matches(TargetingContext.of(null, null, null, "5.1.0")));
+        assertThrows(IllegalArgumentException.class, () -> TargetingContext.packVersion("5.x"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingContext.packVersion("5.70000"));
+        assertThrows(IllegalArgumentException.class, () -> TargetingContext.packVersion("1.2.3.4"));
+    }
+
+    @Test
+    void compile_simplifiesTrivialTrees() {
+        assertSame(TargetingRule.EVERYONE, TargetingRules.compile(null));
+        TargetingRule nested = compile("{\"any\": [{\"all\": [{\"attribute\": \"plan\", \"in\": [\"FREE\"]}]}]}");
+        assertEquals(compile("{\"attribute\": \"plan\", \"eq\": \"FREE\"}"), nested);
+    }
+
+    @Test
+    void compile_rejectsMalformedRules() {
+        assertInvalid("{}");
+        assertInvalid("{\"all\": []}");
+        assertInvalid("{\"attribute\": \"plan\", \"in\": [\"GOLD\"]}");
+        assertInvalid("{\"attribute\": \"plan\", \"gte\": \"FREE\"}");
+        assertInvalid("{\"attribute\": \"plan\", \"in\": [\"FREE\"], \"eq\": \"FREE\"}");
+        assertInvalid("{\"attribute\": \"region\", \"eq\": \"EU\"}");
+        assertInvalid("{\"attribute\": \"status\", \"in\": \"ACTIVE\"}");
+        assertInvalid("{\"all\": [{\"attribute\": \"plan\", \"eq\": \"FREE\"}], \"not\": {}}");
+        assertInvalid("{\"any\": [" + "{\"attribute\": \"plan\", \"eq\": \"FREE\"},".repeat(TargetingRules.MAX_NODES)
+                + "{\"attribute\": \"plan\", \"eq\": \"FREE\"}]}");
+    }
+
+    private static void assertInvalid(String json) {
+        assertThrows(IllegalArgumentException.class, () -> compile(json), json);
+    }
+
+    private static TargetingRule compile(String json) {
+        try {
+            JsonNode node = MAPPER.readTree(json);
+            return TargetingRules.compile(node);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.subscriptionplatform.experimentation.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statistical checks use a fixed seed and chi-square critical values at p = 0.001, so they are deterministic and
+ * only fail for a real skew.
+ */
+class VariantAssignerTest {
+
+    private static final int USERS = 1_000_000;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void assign_isDeterministic_acrossCompiledInstances() {
+        Experiment experiment = new Experiment("paywall-copy", List.of(new Variant("control", 1), new Variant("treatment", 1)));
+        VariantAssigner first = new VariantAssigner(experiment);
+        VariantAssigner second = new VariantAssigner(experiment);
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID userId = randomUser();
+            assertSame(first.assign(userId), first.assign(userId));
+            assertEquals(first.assign(userId), second.assign(userId));
+        }
+    }
+
+    @Test
+    void hash_isPinned_soAssignmentsSurviveReleases() {
+        // Changing these values moves users of running experiments between variants
+        long seed = AssignmentHash.seed("paywall-copy");
+        assertEquals(seed, AssignmentHash.seed("paywall-copy"));
+        UUID userId = UUID.fromString("0192f5c4-7a1e-7c3b-9d2f-5e8a1b4c6d70");
+        long hash = AssignmentHash.hash(seed, userId);
+        assertEquals(hash, AssignmentHash.hash(seed, userId.getMostSignificantBits(), userId.getLeastSignificantBits()));
+        assertEquals(0x1954F52F37AF59AFL, seed);
+        assertEquals(0x3786644079A9C7D0L, hash);
+    }
+
+    @Test
+    void buckets_areUniform_forRandomUsers() {
+        assertUniform(AssignmentHash.seed("uniformity"), 100, this::randomUser);
+    }
+
+    @Test
+    void buckets_areUniform_forSequentialUsers() {
+        // UUIDv7 user ids share their leading timestamp bits and differ in a few low bits
+        long msb = 0x0192F5C47A1E7000L;
+        long[] counter = {0};
+        assertUniform(AssignmentHash.seed("uniformity"), 100,
+                () -> new UUID(msb | (counter[0] >>> 12 & 0xFFF), 0x8000000000000000L | counter[0]++));
+    }
+
+    @Test
+    void assign_followsWeights() {
+        Experiment experiment = new Experiment("pricing", List.of(
+                new Variant("control", 50), new Variant("low", 30), new Variant("high", 20), new Variant("off", 0)));
+        VariantAssigner assigner = new VariantAssigner(experiment);
+        int[] counts = new int[4];
+        for (int i = 0; i < USERS; i++) {
+            counts[experiment.variants().indexOf(assigner.assign(randomUser()))]++;
+        }
+
+        assertEquals(0, counts[3]);
+        double[] expected = {0.5 * USERS, 0.3 * USERS, 0.2 * USERS};
+        double chiSquare = 0;
+        for (int i = 0; i < 3; i++) {
+            chiSquare += Math.pow(counts[i] - expected[i], 2) / expected[i];
+        }
+        assertTrue(chiSquare < 13.82, "chi-square (2 df) " + chiSquare); // p = 0.001
+    }
+
+    @Test
+    void assign_isIndependentAcrossSalts() {
+        List<Variant> split = List.of(new Variant("a", 1), new Variant("b", 1));
+        VariantAssigner first = new VariantAssigner(new Experiment("first", split));
+        VariantAssigner second = new VariantAssigner(new Experiment("second", split));
+        long[][] counts = new long[2][2];
+        for (int i = 0; i < USERS; i++) {
+            UUID userId = randomUser();
+            counts[split.indexOf(first.assign(userId))][split.indexOf(second.assign(userId))]++;
+        }
+
+        double chiSquare = 0;
+        for (int a = 0; a < 2; a++) {
+            for (int b = 0; b < 2; b++) {
+                double expected = (double) (counts[a][0] + counts[a][1]) * (counts[0][b] + counts[1][b]) / USERS;
+                chiSquare += Math.pow(counts[a][b] - expected, 2) / expected;
+            }
+        }
+        assertTrue(chiSquare < 10.83, "chi-square (1 df) " + chiSquare); // p = 0.001
+    }
+
+    @Test
+    void changingWeights_onlyMovesUsersAcrossTheShiftedBoundary() {
+        VariantAssigner before = new VariantAssigner(new Experiment("ramp", List.of(new Variant("control", 90), new Variant("treatment", 10))));
+        VariantAssigner after = new VariantAssigner(new Experiment("ramp", List.of(new Variant("control", 80), new Variant("treatment", 20))));
+
+        for (int i = 0; i < 100_000; i++) {
+            UUID userId = randomUser();
+            if (before.assign(userId).key().equals("control") && after.assign(userId).key().equals("control")) {
+                continue;
+            }
+            // Users only move out of control: everyone already in treatment stays there
+            assertEquals("treatment", after.assign(userId).key());
+        }
+    }
+
+    @Test
+    void assign_doesNotAllocate() {
+        VariantAssigner assigner = new VariantAssigner(new Experiment("alloc", List.of(new Variant("a", 1), new Variant("b", 2))));
+        UUID[] users = new UUID[1024];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = randomUser();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        int sink = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < USERS; i++) {
+            sink += assigner.assign(users[i & 1023]).weight();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes over " + USERS + " assignments");
+    }
+
+    @Test
+    void experiment_rejectsInvalidDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> new Experiment("x", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new Experiment("x", List.of(new Variant("a", 0))));
+        assertThrows(IllegalArgumentException.class, () -> new Experiment("x", List.of(new Variant("a", 1), new Variant("a", 1))));
+        assertThrows(IllegalArgumentException.class, () -> new Variant("a", -1));
+        assertEquals("x", new Experiment("x", List.of(new Variant("a", 1))).salt());
+    }
+
+    private void assertUniform(long seed, int buckets, Supplier<UUID> users) {
+        int[] counts = new int[buckets];
+        for (int i = 0; i < USERS; i++) {
+            counts[AssignmentHash.reduce(AssignmentHash.hash(seed, users.get()), buckets)]++;
+        }
+        double expected = (double) USERS / buckets;
+        double chiSquare = 0;
+        for (int count : counts) {
+            chiSquare += Math.pow(count - expected, 2) / expected;
+        }
+        assertTrue(chiSquare < 148.23, "chi-square (99 df) " + chiSquare); // p = 0.001
+    }
+
+    private UUID randomUser() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,172 @@
+package com.subscriptionplatform.experimentation.sdk;
+
+import com.subscriptionplatform.experimentation.evaluation.ExperimentConfig;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentDefinition;
+import com.subscriptionplatform.experimentation.evaluation.TargetingContext;
+import com.subscriptionplatform.experimentation.evaluation.Variant;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperimentClientTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @Test
+    void build_loadsConfig_andAssignQueuesExposuresUntilClose() {
+        RecordingSink sink = new RecordingSink();
+        StubConfigSource source = new StubConfigSource(config(3, "paywall"));
+        UUID userId = UUID.randomUUID();
+
+        Variant assigned;
+        try (ExperimentClient client = ExperimentClient.builder(source).exposureSink(sink)
+                .refreshInterval(NEVER).flushInterval(NEVER).build()) {
+            assertEquals(3, client.snapshot().version());
+            assertEquals(client.evaluate("paywall", userId, TargetingContext.UNKNOWN),
+                    client.snapshot().assigner("paywall").assign(userId));
+            assertTrue(sink.published.isEmpty());
+
+            assigned = client.assign("paywall", userId, TargetingContext.UNKNOWN);
+            assertNull(client.assign("unknown", userId, TargetingContext.UNKNOWN));
+        }
+
+        assertEquals(1, sink.published.size());
+        Exposure exposure = sink.published.get(0);
+        assertEquals("paywall", exposure.experimentKey());
+        assertEquals(assigned.key(), exposure.variant());
+        assertEquals(userId, exposure.userId());
+        assertEquals(3, exposure.configVersion());
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    void assign_whenBufferIsFull_dropsInsteadOfBlocking() {
+        RecordingSink sink = new RecordingSink();
+        try (ExperimentClient client = ExperimentClient.builder(new StubConfigSource(config(1, "paywall")))
+                .exposureSink(sink).refreshInterval(NEVER).flushInterval(NEVER).exposureBufferSize(10).build()) {
+            for (int i = 0; i < 25; i++) {
+                assertNotNull(client.assign("paywall", UUID.randomUUID(), TargetingContext.UNKNOWN));
+            }
+            assertEquals(15, client.droppedExposures());
+        }
+        assertEquals(10, sink.published.size());
+    }
+
+    @Test
+    void flush_publishesInBatches_inTheBackground() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        sink.expected = new CountDownLatch(25);
+        try (ExperimentClient client = ExperimentClient.builder(new StubConfigSource(config(1, "paywall")))
+                .exposureSink(sink).refreshInterval(NEVER).flushInterval(Duration.ofMillis(10)).maxBatchSize(10).build()) {
+            for (int i = 0; i < 25; i++) {
+                client.assign("paywall", UUID.randomUUID(), TargetingContext.UNKNOWN);
+            }
+            assertTrue(sink.expected.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue(sink.batchSizes.stream().allMatch(size -> size <= 10), sink.batchSizes.toString());
+    }
+
+    @Test
+    void flush_whenSinkFails_countsTheBatchAsDropped() {
+        ExposureSink failing = batch -> {
+            throw new IOException("broker down");
+        };
+        ExperimentClient client = ExperimentClient.builder(new StubConfigSource(config(1, "paywall")))
+                .exposureSink(failing).refreshInterval(NEVER).flushInterval(NEVER).build();
+        client.assign("paywall", UUID.randomUUID(), TargetingContext.UNKNOWN);
+
+        client.close();
+
+        assertEquals(1, client.droppedExposures());
+    }
+
+    @Test
+    void refresh_swapsOnNewVersion_andKeepsTheSnapshotOnFailureOrNotModified() {
+        StubConfigSource source = new StubConfigSource(config(1, "paywall"));
+        try (ExperimentClient client = ExperimentClient.builder(source).refreshInterval(NEVER).flushInterval(NEVER).build()) {
+            source.next = null; // Not modified
+            client.refresh();
+            assertEquals(1, client.snapshot().version());
+            assertEquals(1, source.knownVersions.get(1));
+
+            source.failure = new IOException("connection refused");
+            client.refresh();
+            assertEquals(1, client.snapshot().version());
+
+            source.failure = null;
+            source.next = config(2, "pricing");
+            client.refresh();
+            assertEquals(2, client.snapshot().version());
+            assertNull(client.evaluate("paywall", UUID.randomUUID(), TargetingContext.UNKNOWN));
+            assertNotNull(client.evaluate("pricing", UUID.randomUUID(), TargetingContext.UNKNOWN));
+        }
+    }
+
+    @Test
+    void build_whenFirstFetchFails_startsEmptyAndLoadsOnRefresh() {
+        StubConfigSource source = new StubConfigSource(config(5, "paywall"));
+        source.failure = new IOException("connection refused");
+        try (ExperimentClient client = ExperimentClient.builder(source).refreshInterval(NEVER).flushInterval(NEVER).build()) {
+            assertEquals(-1, client.snapshot().version());
+            assertNull(client.assign("paywall", UUID.randomUUID(), TargetingContext.UNKNOWN));
+
+            source.failure = null;
+            client.refresh();
+            assertEquals(5, client.snapshot().version());
+        }
+    }
+
+    private static ExperimentConfig config(long version, String experimentKey) {
+        return new ExperimentConfig(version, List.of(new ExperimentDefinition(experimentKey, experimentKey,
+                List.of(new Variant("control", 1), new Variant("treatment", 1)), null, null)));
+    }
+
+    private static final class StubConfigSource implements ConfigSource {
+
+        final List<Long> knownVersions = new ArrayList<>();
+        ExperimentConfig next;
+        IOException failure;
+
+        StubConfigSource(ExperimentConfig next) {
+            this.next = next;
+        }
+
+        @Override
+        public ExperimentConfig fetch(long knownVersion) throws IOException {
+            knownVersions.add(knownVersion);
+            if (failure != null) {
+                throw failure;
+            }
+            return next;
+        }
+    }
+
+    private static final class RecordingSink implements ExposureSink {
+
+        final List<Exposure> published = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch expected = new CountDownLatch(0);
+        volatile boolean closed;
+
+        @Override
+        public void publish(List<Exposure> batch) {
+            published.addAll(batch);
+            batchSizes.add(batch.size());
+            batch.forEach(exposure -> expected.countDown());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
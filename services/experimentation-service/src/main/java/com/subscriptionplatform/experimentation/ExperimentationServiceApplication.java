@@ -0,0 +1,12 @@
+package com.subscriptionplatform.experimentation;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ExperimentationServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ExperimentationServiceApplication.class, args);
+    }
+}
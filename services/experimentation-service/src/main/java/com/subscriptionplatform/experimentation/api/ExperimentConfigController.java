@@ -0,0 +1,38 @@
+package com.subscriptionplatform.experimentation.api;
+
+import com.subscriptionplatform.experimentation.application.ConfigDocument;
+import com.subscriptionplatform.experimentation.application.ExperimentConfigService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * The config experiment-sdk clients evaluate in process. Tagged with a strong ETag of the config version: a poll
+ * with a matching {@code If-None-Match} is answered 304 without a body.
+ */
+@RestController
+@RequestMapping("/experiments")
+public class ExperimentConfigController {
+
+    private final ExperimentConfigService configService;
+
+    public ExperimentConfigController(ExperimentConfigService configService) {
+        this.configService = configService;
+    }
+
+    @GetMapping(value = "/config", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getConfig(WebRequest request) {
+        ConfigDocument document = configService.configDocument();
+        if (document == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build(); // Not loaded yet; the poll retries
+        }
+        if (request.checkNotModified(document.etag())) {
+            return null; // 304 and ETag already set by checkNotModified
+        }
+        return ResponseEntity.ok().eTag(document.etag()).body(document.json());
+    }
+}
@@ -0,0 +1,13 @@
+package com.subscriptionplatform.experimentation.application;
+
+/**
+ * Serialized {@link com.subscriptionplatform.experimentation.evaluation.ExperimentConfig} of one snapshot, written
+ * once per reload so every {@code GET /experiments/config} is a copy of the same bytes.
+ */
+public record ConfigDocument(long version, byte[] json) {
+
+    /** Strong ETag; clients send it back in {@code If-None-Match}. */
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+}
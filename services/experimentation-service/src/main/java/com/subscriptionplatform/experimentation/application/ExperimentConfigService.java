@@ -0,0 +1,197 @@
+package com.subscriptionplatform.experimentation.application;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionplatform.experimentation.domain.ExperimentStatus;
+import com.subscriptionplatform.experimentation.evaluation.BucketSet;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentConfig;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentDefinition;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentSnapshot;
+import com.subscriptionplatform.experimentation.evaluation.Variant;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the {@link ExperimentSnapshot} every assignment reads, and reloads it when experiments change.
+ * <p>
+ * Readers only dereference a volatile field: they never lock, wait for a reload or allocate. A reload reads the
+ * {@code experiment_config} version and all running experiments in one REPEATABLE READ transaction, compiles a new
+ * snapshot (assigners and targeting rules) off to the side and swaps the reference, so traffic keeps using the
+ * previous snapshot until the new one is complete. Reloads are triggered by any record on
+ * {@code experiment.events} (near-immediate propagation) and by a version check every {@code poll-interval-ms},
+ * which covers missed or disabled events; both first compare versions, so redundant triggers cost one single-row
+ * query. An experiment whose stored definition is invalid is left out and logged instead of failing the reload.
+ * <p>
+ * The snapshot is compiled from an {@link ExperimentConfig}, which is also kept serialized as the
+ * {@link ConfigDocument} that experiment-sdk clients fetch: they compile the same document with the same code, so
+ * their in-process assignments match this service's.
+ */
+@Service
+public class ExperimentConfigService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ExperimentConfigService.class);
+
+    static final String TOPIC_EXPERIMENT_EVENTS = "experiment.events";
+
+    private static final String VERSION_QUERY = "SELECT version FROM experimentation.experiment_config WHERE id = 1";
+    private static final TypeReference<List<Variant>> VARIANTS = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Current current = new Current(ExperimentSnapshot.EMPTY, null);
+
+    public ExperimentConfigService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("experiments_config_snapshot_version", this, s -> s.current.snapshot().version())
+                .description("experiment_config version of the in-memory experiment snapshot")
+                .register(meterRegistry);
+        Gauge.builder("experiments_config_snapshot_experiments", this, s -> s.current.snapshot().size())
+                .description("Running experiments in the in-memory snapshot")
+                .register(meterRegistry);
+    }
+
+    /** The current snapshot; hold on to it for the duration of one request so all its decisions agree. */
+    public ExperimentSnapshot snapshot() {
+        return current.snapshot();
+    }
+
+    /** The config the current snapshot was compiled from, as served to SDK clients; null until the first load. */
+    public ConfigDocument configDocument() {
+        return current.document();
+    }
+
+    /** Loads the first snapshot before the web server and Kafka listeners start; the poll retries on failure. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reloadIfChanged("startup");
+    }
+
+    @Scheduled(initialDelayString = "${experimentation.config.poll-interval-ms:10000}",
+            fixedDelayString = "${experimentation.config.poll-interval-ms:10000}")
+    public void poll() {
+        reloadIfChanged("poll");
+    }
+
+    /** Any record is a hint that definitions changed; the payload is not needed since the reload reads Postgres. */
+    @KafkaListener(topics = TOPIC_EXPERIMENT_EVENTS,
+            groupId = "experimentation-config-${random.uuid}", // Every instance must see every event
+            containerFactory = "broadcastListenerContainerFactory", // Commits no offsets for the throwaway group
+            autoStartup = "${experimentation.config.events.enabled:true}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "enable.auto.commit=false",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"
+            })
+    public void onExperimentEvent(ConsumerRecord<String, byte[]> record) {
+        log.debug("Experiment event key={} offset={}, checking config version", record.key(), record.offset());
+        reloadIfChanged("event");
+    }
+
+    /**
+     * Reloads if the stored version differs from the snapshot's. Concurrent triggers queue on a lock and then
+     * usually find the version already current.
+     *
+     * @return whether a new snapshot was installed
+     */
+    public boolean reloadIfChanged(String trigger) {
+        reloadLock.lock();
+        try {
+            Long version = jdbcTemplate.queryForObject(VERSION_QUERY, Long.class);
+            if (version != null && version == current.snapshot().version()) {
+                return false;
+            }
+            long startNanos = System.nanoTime();
+            Current loaded = snapshotTransaction.execute(tx -> {
+                try {
+                    return load();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            current = loaded;
+            long elapsedNanos = System.nanoTime() - startNanos;
+            Timer.builder("experiments_config_reload_duration")
+                    .description("Time to read and compile a new experiment snapshot")
+                    .tag("trigger", trigger)
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            log.info("Experiment snapshot reloaded trigger={} version={} experiments={} elapsedMs={}",
+                    trigger, loaded.snapshot().version(), loaded.snapshot().size(), elapsedNanos / 1_000_000);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Experiment snapshot reload failed trigger={}, keeping version {}: {}",
+                    trigger, current.snapshot().version(), e.getMessage());
+            return false;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Current load() throws IOException {
+        Long version = jdbcTemplate.queryForObject(VERSION_QUERY, Long.class);
+        List<ExperimentDefinition> definitions = new ArrayList<>();
+        // Oldest first: should two stored experiments ever overlap in a layer, the one that ran first keeps its buckets
+        jdbcTemplate.query("""
+                SELECT e.key, e.salt, e.variants, e.targeting, e.layer_key, l.salt, e.buckets::text
+                FROM experimentation.experiments e
+                LEFT JOIN experimentation.layers l ON l.key = e.layer_key
+                WHERE e.status = ?
+                ORDER BY e.created_at, e.key
+                """, rs -> {
+            String key = rs.getString(1);
+            try {
+                String targeting = rs.getString(4);
+                String layer = rs.getString(5);
+                definitions.add(new ExperimentDefinition(key, rs.getString(2),
+                        objectMapper.readValue(rs.getString(3), VARIANTS),
+                        targeting == null ? null : objectMapper.readTree(targeting),
+                        layer == null ? null : new ExperimentDefinition.Layer(layer, rs.getString(6),
+                                BucketSet.parse(rs.getString(7)).ranges())));
+            } catch (IOException | IllegalArgumentException e) {
+                skipInvalid(key, e);
+            }
+        }, ExperimentStatus.RUNNING.name());
+        ExperimentConfig config = new ExperimentConfig(version, definitions);
+        return new Current(config.compile(this::skipInvalid), new ConfigDocument(version, objectMapper.writeValueAsBytes(config)));
+    }
+
+    private void skipInvalid(String key, Exception e) {
+        log.error("Skipping experiment {} with an invalid definition: {}", key, e.getMessage());
+        meterRegistry.counter("experiments_config_invalid_total").increment();
+    }
+
+    private record Current(ExperimentSnapshot snapshot, ConfigDocument document) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.subscriptionplatform.experimentation.domain;
+
+/** Only RUNNING experiments assign users; DRAFT ones are being set up and STOPPED ones are over. */
+public enum ExperimentStatus {
+    DRAFT,
+    RUNNING,
+    STOPPED
+}
@@ -0,0 +1,38 @@
+-- Experimentation service schema
+CREATE SCHEMA IF NOT EXISTS experimentation;
+
+CREATE TABLE experimentation.experiments (
+    key VARCHAR(128) PRIMARY KEY,
+    salt VARCHAR(128) NOT NULL,
+    status VARCHAR(32) NOT NULL CHECK (status IN ('DRAFT', 'RUNNING', 'STOPPED')),
+    -- Ordered [{"key": "...", "weight": n}, ...]; the order is part of the assignment, see VariantAssigner
+    variants JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_experiments_status ON experimentation.experiments (status);
+
+-- One row whose version moves with every committed change to experiments. Instances compare it with the version
+-- of their in-memory snapshot to decide whether to reload.
+CREATE TABLE experimentation.experiment_config (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO experimentation.experiment_config (id, version, updated_at) VALUES (1, 0, now());
+
+-- Bumping the row inside the writing transaction holds its row lock until commit, so concurrent writers take
+-- versions in commit order and a snapshot that sees version n sees every change made up to n. A sequence could
+-- hand out a lower number to a transaction that commits later, which a reader at the higher version would miss.
+CREATE OR REPLACE FUNCTION experimentation.bump_experiment_config_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE experimentation.experiment_config SET version = version + 1, updated_at = now() WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_experiments_config_version
+    AFTER INSERT OR UPDATE OR DELETE ON experimentation.experiments
+    FOR EACH STATEMENT EXECUTE FUNCTION experimentation.bump_experiment_config_version();
@@ -0,0 +1,2 @@
+-- Audience rule per experiment (rule language in TargetingRules); NULL targets everyone
+ALTER TABLE experimentation.experiments ADD COLUMN targeting JSONB;
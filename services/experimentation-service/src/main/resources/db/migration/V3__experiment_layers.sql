@@ -0,0 +1,67 @@
+-- Layers: experiments in the same layer never share users. A layer hashes each user into one of 10000 buckets
+-- (LayerAllocation / BucketSet) and every layered experiment owns a set of them, stored as a fixed-width bitset.
+CREATE TABLE experimentation.layers (
+    key VARCHAR(128) PRIMARY KEY,
+    -- Seeds the bucket hash; changing it would move every user of the layer to another bucket
+    salt VARCHAR(128) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+ALTER TABLE experimentation.experiments
+    ADD COLUMN layer_key VARCHAR(128) REFERENCES experimentation.layers (key),
+    ADD COLUMN buckets BIT(10000),
+    ADD CONSTRAINT experiments_layer_buckets CHECK ((layer_key IS NULL) = (buckets IS NULL));
+
+CREATE INDEX idx_experiments_layer_key ON experimentation.experiments (layer_key) WHERE layer_key IS NOT NULL;
+
+CREATE TRIGGER trg_layers_config_version
+    AFTER INSERT OR UPDATE OR DELETE ON experimentation.layers
+    FOR EACH STATEMENT EXECUTE FUNCTION experimentation.bump_experiment_config_version();
+
+CREATE OR REPLACE FUNCTION experimentation.check_layer_salt_unchanged() RETURNS trigger AS $$
+BEGIN
+    IF NEW.salt <> OLD.salt THEN
+        RAISE EXCEPTION 'Layer % salt cannot change: it would reassign every user of the layer', OLD.key;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_layers_salt_unchanged
+    BEFORE UPDATE ON experimentation.layers
+    FOR EACH ROW EXECUTE FUNCTION experimentation.check_layer_salt_unchanged();
+
+-- Running experiments of a layer own disjoint buckets, and a running experiment only gains buckets (ramp up), so
+-- users already in it stay in it. Writers are serialized on the experiment_config row first; each check then runs
+-- on a fresh snapshot and sees every committed allocation, so two concurrent writes cannot both claim a bucket.
+CREATE OR REPLACE FUNCTION experimentation.check_experiment_buckets() RETURNS trigger AS $$
+DECLARE
+    conflict VARCHAR(128);
+BEGIN
+    IF NEW.status <> 'RUNNING' OR NEW.layer_key IS NULL THEN
+        IF TG_OP = 'UPDATE' AND OLD.status = 'RUNNING' AND NEW.status = 'RUNNING' AND OLD.layer_key IS NOT NULL THEN
+            RAISE EXCEPTION 'Running experiment % cannot leave layer %', OLD.key, OLD.layer_key;
+        END IF;
+        RETURN NEW;
+    END IF;
+    PERFORM 1 FROM experimentation.experiment_config WHERE id = 1 FOR UPDATE;
+    IF TG_OP = 'UPDATE' AND OLD.status = 'RUNNING' THEN
+        IF OLD.layer_key IS DISTINCT FROM NEW.layer_key OR (OLD.buckets & NEW.buckets) <> OLD.buckets THEN
+            RAISE EXCEPTION 'Running experiment % may only add buckets in layer %', OLD.key, OLD.layer_key;
+        END IF;
+    END IF;
+    SELECT key INTO conflict
+    FROM experimentation.experiments
+    WHERE layer_key = NEW.layer_key AND status = 'RUNNING' AND key <> NEW.key
+      AND bit_count(buckets & NEW.buckets) > 0
+    LIMIT 1;
+    IF conflict IS NOT NULL THEN
+        RAISE EXCEPTION 'Experiment % overlaps running experiment % in layer %', NEW.key, conflict, NEW.layer_key;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_experiments_buckets
+    BEFORE INSERT OR UPDATE ON experimentation.experiments
+    FOR EACH ROW EXECUTE FUNCTION experimentation.check_experiment_buckets();
@@ -0,0 +1,4 @@
+-- Layer bucket seeds hash "layer:" || layer salt (LayerAllocation.seed), so an experiment salt with that prefix
+-- would hash users exactly like a layer; the SDK's Experiment rejects such salts as well
+ALTER TABLE experimentation.experiments
+    ADD CONSTRAINT experiments_salt_not_layer_prefix CHECK (salt NOT LIKE 'layer:%');
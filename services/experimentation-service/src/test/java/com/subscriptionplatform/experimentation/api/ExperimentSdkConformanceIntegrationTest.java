@@ -0,0 +1,206 @@
+package com.subscriptionplatform.experimentation.api;
+
+import com.subscriptionplatform.experimentation.application.ExperimentConfigService;
+import com.subscriptionplatform.experimentation.evaluation.BucketSet;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentConfig;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentLayer;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentSnapshot;
+import com.subscriptionplatform.experimentation.evaluation.Plan;
+import com.subscriptionplatform.experimentation.evaluation.SubscriptionStatus;
+import com.subscriptionplatform.experimentation.evaluation.TargetingContext;
+import com.subscriptionplatform.experimentation.evaluation.VariantAssigner;
+import com.subscriptionplatform.experimentation.sdk.ExperimentClient;
+import com.subscriptionplatform.experimentation.sdk.HttpConfigSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Proves experiment-sdk clients decide exactly like the server: experiments with varied weights, targeting rules
+ * and layer allocations are stored in Postgres, served over {@code GET /experiments/config}, and every
+ * (experiment, user, context) decision of an {@link ExperimentClient} is compared with the server's snapshot.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "experimentation.config.events.enabled=false",
+        "experimentation.config.poll-interval-ms=3600000"
+})
+@Testcontainers
+@ActiveProfiles("test")
+class ExperimentSdkConformanceIntegrationTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+    private static final List<String> TARGETING = List.of(
+            "{\"attribute\": \"plan\", \"in\": [\"INDIVIDUAL\", \"FAMILY\"]}",
+            "{\"attribute\": \"country\", \"in\": [\"SE\", \"NO\", \"DK\", \"FI\"]}",
+            "{\"not\": {\"attribute\": \"appVersion\", \"lt\": \"5.2\"}}",
+            "{\"all\": [{\"attribute\": \"status\", \"in\": [\"ACTIVE\", \"TRIALING\"]}, {\"attribute\": \"appVersion\", \"gte\": \"4\"}]}",
+            "{\"any\": [{\"attribute\": \"plan\", \"eq\": \"FREE\"}, {\"attribute\": \"country\", \"eq\": \"US\"}]}");
+    private static final String[] COUNTRIES = {"SE", "NO", "DK", "FI", "US", "DE", "BR", null};
+    private static final String[] APP_VERSIONS = {"3.9.9", "4.0", "5.1.7", "5.2", "6.0.1", null};
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("experimentation_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ExperimentConfigService configService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(2024);
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM experimentation.experiments");
+        jdbcTemplate.update("DELETE FROM experimentation.layers");
+        jdbcTemplate.update("INSERT INTO experimentation.layers (key, salt) VALUES ('checkout', 'checkout-2024'), ('home', 'home')");
+        for (int i = 0; i < 24; i++) {
+            String targeting = i % 3 == 0 ? null : TARGETING.get(i % TARGETING.size());
+            String layer = null;
+            BucketSet buckets = null;
+            if (i < 12) { // Six disjoint slices per layer, some of them ramped with a second range
+                layer = i % 2 == 0 ? "checkout" : "home";
+                int slice = i / 2;
+                buckets = BucketSet.range(slice * 1_000, slice * 1_000 + 600 + random.nextInt(400));
+                if (slice % 2 == 0) {
+                    buckets = buckets.union(BucketSet.range(6_000 + slice * 500, 6_000 + slice * 500 + 250));
+                }
+            }
+            insert("experiment-" + i, variants(i), targeting, layer, buckets);
+        }
+        insert("broken", "[{\"key\": \"a\", \"weight\": 1}]", "{\"attribute\": \"plan\", \"in\": [\"GOLD\"]}", null, null);
+        assertTrue(configService.reloadIfChanged("test"));
+    }
+
+    @Test
+    void clientDecisions_matchTheServer_forEveryExperimentUserAndContext() {
+        try (ExperimentClient client = client()) {
+            ExperimentSnapshot server = configService.snapshot();
+            ExperimentSnapshot sdk = client.snapshot();
+
+            assertEquals(server.version(), sdk.version());
+            assertEquals(24, server.size());
+            assertEquals(server.size(), sdk.size());
+            assertNull(sdk.assigner("broken"));
+            assertConform(server, client, 5_000);
+        }
+    }
+
+    @Test
+    void clientRefresh_picksUpChanges_andStillMatchesTheServer() {
+        try (ExperimentClient client = client()) {
+            long before = client.snapshot().version();
+            jdbcTemplate.update("UPDATE experimentation.experiments SET status = 'STOPPED' WHERE key = 'experiment-1'");
+            jdbcTemplate.update("UPDATE experimentation.experiments SET variants = ?::jsonb WHERE key = 'experiment-13'",
+                    "[{\"key\": \"control\", \"weight\": 9}, {\"key\": \"treatment\", \"weight\": 1}]");
+            jdbcTemplate.update("UPDATE experimentation.experiments SET buckets = ?::bit(10000) WHERE key = 'experiment-2'",
+                    configService.snapshot().assigner("experiment-2").experiment().allocation().buckets()
+                            .union(BucketSet.range(9_500, 10_000)).toString());
+            configService.reloadIfChanged("test");
+
+            client.refresh();
+
+            assertEquals(before + 3, client.snapshot().version());
+            assertNull(client.snapshot().assigner("experiment-1"));
+            assertConform(configService.snapshot(), client, 2_000);
+        }
+    }
+
+    @Test
+    void configEndpoint_answersNotModifiedForTheCurrentVersion() throws Exception {
+        HttpConfigSource source = configSource();
+        long version = configService.snapshot().version();
+
+        assertNull(source.fetch(version));
+        ExperimentConfig config = source.fetch(version - 1);
+        assertEquals(version, config.version());
+        assertEquals(25, config.experiments().size(), "Invalid definitions are served too; clients skip them alike");
+    }
+
+    private void assertConform(ExperimentSnapshot server, ExperimentClient client, int users) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            keys.add("experiment-" + i);
+        }
+        for (int u = 0; u < users; u++) {
+            UUID userId = new UUID(random.nextLong(), random.nextLong());
+            TargetingContext context = TargetingContext.of(
+                    Plan.values()[random.nextInt(Plan.values().length)],
+                    SubscriptionStatus.values()[random.nextInt(SubscriptionStatus.values().length)],
+                    COUNTRIES[random.nextInt(COUNTRIES.length)],
+                    APP_VERSIONS[random.nextInt(APP_VERSIONS.length)]);
+            for (String key : keys) {
+                VariantAssigner assigner = server.assigner(key);
+                assertEquals(assigner == null ? null : assigner.assign(userId, context), client.evaluate(key, userId, context),
+                        () -> key + " user " + userId + " " + context);
+            }
+            for (String layer : List.of("checkout", "home")) {
+                ExperimentLayer serverLayer = server.layer(layer);
+                ExperimentLayer sdkLayer = client.snapshot().layer(layer);
+                assertEquals(key(serverLayer.experimentFor(userId)), key(sdkLayer.experimentFor(userId)));
+                assertEquals(serverLayer.assign(userId, context), sdkLayer.assign(userId, context));
+            }
+        }
+    }
+
+    private ExperimentClient client() {
+        return ExperimentClient.builder(configSource()).refreshInterval(NEVER).flushInterval(NEVER).build();
+    }
+
+    private HttpConfigSource configSource() {
+        return new HttpConfigSource(URI.create("http://localhost:" + port), Duration.ofSeconds(5));
+    }
+
+    private String variants(int i) {
+        StringBuilder json = new StringBuilder("[");
+        int count = 1 + i % 4;
+        for (int v = 0; v < count; v++) {
+            json.append(v == 0 ? "" : ", ").append("{\"key\": \"v").append(v).append("\", \"weight\": ")
+                    .append(1 + random.nextInt(100)).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private void insert(String key, String variants, String targeting, String layer, BucketSet buckets) {
+        jdbcTemplate.update("""
+                INSERT INTO experimentation.experiments (key, salt, status, variants, targeting, layer_key, buckets)
+                VALUES (?, ?, 'RUNNING', ?::jsonb, ?::jsonb, ?, ?::bit(10000))
+                """, key, key + "-salt", variants, targeting, layer, buckets == null ? null : buckets.toString());
+    }
+
+    private static String key(VariantAssigner assigner) {
+        return assigner == null ? null : assigner.experiment().key();
+    }
+}
@@ -0,0 +1,177 @@
+package com.subscriptionplatform.experimentation.application;
+
+import com.subscriptionplatform.experimentation.evaluation.BucketSet;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentLayer;
+import com.subscriptionplatform.experimentation.evaluation.ExperimentSnapshot;
+import com.subscriptionplatform.experimentation.evaluation.Plan;
+import com.subscriptionplatform.experimentation.evaluation.SubscriptionStatus;
+import com.subscriptionplatform.experimentation.evaluation.TargetingContext;
+import com.subscriptionplatform.experimentation.evaluation.Variant;
+import com.subscriptionplatform.experimentation.evaluation.VariantAssigner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "experimentation.config.events.enabled=false",
+        "experimentation.config.poll-interval-ms=3600000"
+})
+@Testcontainers
+@ActiveProfiles("test")
+class ExperimentConfigServiceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("experimentation_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    ExperimentConfigService configService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM experimentation.experiments");
+        jdbcTemplate.update("DELETE FROM experimentation.layers");
+        configService.reloadIfChanged("test");
+    }
+
+    @Test
+    void reload_swapsInRunningExperiments_andSkipsUnchangedVersions() {
+        ExperimentSnapshot before = configService.snapshot();
+        insert("paywall", "RUNNING", "[{\"key\": \"control\", \"weight\": 1}, {\"key\": \"treatment\", \"weight\": 1}]");
+        insert("onboarding", "DRAFT", "[{\"key\": \"a\", \"weight\": 1}]");
+
+        assertTrue(configService.reloadIfChanged("test"));
+        ExperimentSnapshot after = configService.snapshot();
+
+        assertEquals(before.version() + 2, after.version());
+        assertEquals(1, after.size());
+        assertNull(after.assigner("onboarding"));
+        VariantAssigner paywall = after.assigner("paywall");
+        assertEquals(List.of(new Variant("control", 1), new Variant("treatment", 1)), paywall.experiment().variants());
+        UUID userId = UUID.randomUUID();
+        assertEquals(paywall.assign(userId), new VariantAssigner(paywall.experiment()).assign(userId));
+        assertNull(before.assigner("paywall"), "Published snapshots never change");
+
+        assertFalse(configService.reloadIfChanged("test"));
+        assertSame(after, configService.snapshot());
+    }
+
+    @Test
+    void reload_dropsStoppedExperiments_andSkipsInvalidDefinitions() {
+        insert("paywall", "RUNNING", "[{\"key\": \"control\", \"weight\": 1}]");
+        insert("broken", "RUNNING", "[{\"key\": \"a\", \"weight\": -1}]");
+        configService.reloadIfChanged("test");
+
+        assertNotNull(configService.snapshot().assigner("paywall"));
+        assertNull(configService.snapshot().assigner("broken"));
+
+        jdbcTemplate.update("UPDATE experimentation.experiments SET status = 'STOPPED' WHERE key = 'paywall'");
+        configService.reloadIfChanged("test");
+
+        assertEquals(0, configService.snapshot().size());
+    }
+
+    @Test
+    void reload_compilesTargeting() {
+        insert("paywall", "RUNNING", "[{\"key\": \"control\", \"weight\": 1}]");
+        insert("broken", "RUNNING", "[{\"key\": \"a\", \"weight\": 1}]");
+        jdbcTemplate.update("UPDATE experimentation.experiments SET targeting = ?::jsonb WHERE key = 'paywall'",
+                "{\"all\": [{\"attribute\": \"plan\", \"in\": [\"FAMILY\"]}, {\"attribute\": \"country\", \"eq\": \"SE\"}]}");
+        jdbcTemplate.update("UPDATE experimentation.experiments SET targeting = ?::jsonb WHERE key = 'broken'",
+                "{\"attribute\": \"plan\", \"in\": [\"GOLD\"]}");
+        configService.reloadIfChanged("test");
+
+        VariantAssigner paywall = configService.snapshot().assigner("paywall");
+        UUID userId = UUID.randomUUID();
+        assertNotNull(paywall.assign(userId, TargetingContext.of(Plan.FAMILY, SubscriptionStatus.ACTIVE, "se", null)));
+        assertNull(paywall.assign(userId, TargetingContext.of(Plan.FAMILY, SubscriptionStatus.ACTIVE, "NO", null)));
+        assertNull(configService.snapshot().assigner("broken"));
+    }
+
+    @Test
+    void layeredExperiments_loadIntoTheirLayer_andStorageEnforcesExclusionAndRamps() {
+        jdbcTemplate.update("INSERT INTO experimentation.layers (key, salt) VALUES ('checkout', 'checkout-2024')");
+        insertLayered("paywall", BucketSet.range(0, 1_000));
+        insertLayered("pricing", BucketSet.range(1_000, 3_000));
+
+        assertThrows(DataAccessException.class, () -> insertLayered("overlap", BucketSet.range(2_999, 4_000)));
+        assertThrows(DataAccessException.class, () -> setBuckets("paywall", BucketSet.range(0, 500)));
+        assertThrows(DataAccessException.class, () -> setBuckets("paywall", BucketSet.range(0, 1_500)));
+        assertThrows(DataAccessException.class,
+                () -> jdbcTemplate.update("UPDATE experimentation.layers SET salt = 'other' WHERE key = 'checkout'"));
+        assertThrows(DataAccessException.class, // Salt would hash users like the layer
+                () -> insert("layer:checkout", "DRAFT", "[{\"key\": \"control\", \"weight\": 1}]"));
+        setBuckets("paywall", BucketSet.range(0, 1_000).union(BucketSet.range(3_000, 4_000)));
+        configService.reloadIfChanged("test");
+
+        ExperimentLayer layer = configService.snapshot().layer("checkout");
+        assertEquals(2, layer.experiments().size());
+        VariantAssigner paywall = configService.snapshot().assigner("paywall");
+        assertEquals(2_000, paywall.experiment().allocation().buckets().size());
+        for (int i = 0; i < 1_000; i++) {
+            UUID userId = UUID.randomUUID();
+            VariantAssigner owner = layer.experimentFor(userId);
+            assertEquals(owner == paywall, paywall.assign(userId, TargetingContext.UNKNOWN) != null);
+        }
+    }
+
+    @Test
+    void configVersion_movesOncePerStatement() {
+        long version = configVersion();
+        jdbcTemplate.update("""
+                INSERT INTO experimentation.experiments (key, salt, status, variants)
+                VALUES ('a', 'a', 'DRAFT', '[{"key": "x", "weight": 1}]'), ('b', 'b', 'DRAFT', '[{"key": "x", "weight": 1}]')
+                """);
+        jdbcTemplate.update("DELETE FROM experimentation.experiments WHERE key = 'a'");
+
+        assertEquals(version + 2, configVersion());
+    }
+
+    private void insert(String key, String status, String variants) {
+        jdbcTemplate.update("INSERT INTO experimentation.experiments (key, salt, status, variants) VALUES (?, ?, ?, ?::jsonb)",
+                key, key, status, variants);
+    }
+
+    private void insertLayered(String key, BucketSet buckets) {
+        jdbcTemplate.update("""
+                INSERT INTO experimentation.experiments (key, salt, status, variants, layer_key, buckets)
+                VALUES (?, ?, 'RUNNING', '[{"key": "control", "weight": 1}]', 'checkout', ?::bit(10000))
+                """, key, key, buckets.toString());
+    }
+
+    private void setBuckets(String key, BucketSet buckets) {
+        jdbcTemplate.update("UPDATE experimentation.experiments SET buckets = ?::bit(10000) WHERE key = ?",
+                buckets.toString(), key);
+    }
+
+    private long configVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM experimentation.experiment_config", Long.class);
+    }
+}
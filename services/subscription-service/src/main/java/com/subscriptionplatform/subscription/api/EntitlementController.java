@@ -0,0 +1,38 @@
+package com.subscriptionplatform.subscription.api;
+
+import com.subscriptionplatform.subscription.api.dto.BulkLookupRequest;
+import com.subscriptionplatform.subscription.api.dto.EntitlementResponse;
+import com.subscriptionplatform.subscription.application.EntitlementService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Premium checks for callers that only need plan and status, answered from the in-memory entitlement index
+ * without touching Postgres or the subscription cache.
+ */
+@RestController
+@RequestMapping("/entitlements")
+public class EntitlementController {
+
+    private final EntitlementService entitlementService;
+
+    public EntitlementController(EntitlementService entitlementService) {
+        this.entitlementService = entitlementService;
+    }
+
+    @GetMapping
+    public EntitlementResponse getEntitlement(@RequestParam UUID userId) {
+        return EntitlementResponse.of(userId, entitlementService.getEntitlements(List.of(userId)).get(userId));
+    }
+
+    /** One entry per distinct user id, in request order; unknown users are included as not premium. */
+    @PostMapping("/lookup")
+    public List<EntitlementResponse> lookup(@Valid @RequestBody BulkLookupRequest request) {
+        return entitlementService.getEntitlements(request.userIds()).entrySet().stream()
+                .map(e -> EntitlementResponse.of(e.getKey(), e.getValue()))
+                .toList();
+    }
+}
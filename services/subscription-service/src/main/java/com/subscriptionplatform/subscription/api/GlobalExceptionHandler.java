@@ -3,6 +3,7 @@ package com.subscriptionplatform.subscription.api;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -60,12 +61,34 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ProblemDetailResponse> handleIllegalState(IllegalStateException ex) {
+        return invalidState(ex.getMessage());
+    }
+
+    @ExceptionHandler(SubscriptionRejectedException.class)
+    public ResponseEntity<ProblemDetailResponse> handleRejected(SubscriptionRejectedException ex) {
+        return invalidState(ex.getMessage());
+    }
+
+    /** Same 409 body for transitions rejected by the domain's throwing methods and by the state machine check. */
+    private ResponseEntity<ProblemDetailResponse> invalidState(String detail) {
+        String traceId = getTraceId();
+        log.warn("Invalid state: {}", detail);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.parseMediaType("application/problem+json"))
+                .body(ProblemDetailResponse.of("Invalid State", 409, detail, traceId));
+    }
+
+    /** A command still lost to concurrent updates after its retries; the client may simply try again. */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetailResponse> handleConcurrentModification(OptimisticLockingFailureException ex) {
         String traceId = getTraceId();
-        log.warn("Invalid state: {}", ex.getMessage());
+        log.warn("Concurrent modification: {}", ex.getMessage());
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
                 .contentType(MediaType.parseMediaType("application/problem+json"))
-                .body(ProblemDetailResponse.of("Invalid State", 409, ex.getMessage(), traceId));
+                .body(ProblemDetailResponse.of("Concurrent Modification", 409,
+                        "The subscription was changed by a concurrent request, retry the request", traceId));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -1,52 +1,168 @@
 package com.subscriptionplatform.subscription.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.subscriptionplatform.subscription.api.dto.BulkLookupRequest;
 import com.subscriptionplatform.subscription.api.dto.CancelRequest;
 import com.subscriptionplatform.subscription.api.dto.ReactivateRequest;
 import com.subscriptionplatform.subscription.api.dto.StartTrialRequest;
 import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.application.CachedSubscription;
 import com.subscriptionplatform.subscription.application.SubscriptionApplicationService;
+import com.subscriptionplatform.subscription.application.SubscriptionBulkIngestService;
+import com.subscriptionplatform.subscription.application.SubscriptionExportService;
+import com.subscriptionplatform.subscription.domain.SubscriptionVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/subscriptions")
 public class SubscriptionController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final SubscriptionApplicationService subscriptionService;
+    private final SubscriptionBulkIngestService bulkIngestService;
+    private final SubscriptionExportService exportService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lookupWriter;
 
-    public SubscriptionController(SubscriptionApplicationService subscriptionService) {
+    public SubscriptionController(SubscriptionApplicationService subscriptionService,
+                                  SubscriptionBulkIngestService bulkIngestService,
+                                  SubscriptionExportService exportService,
+                                  ObjectMapper objectMapper) {
         this.subscriptionService = subscriptionService;
+        this.bulkIngestService = bulkIngestService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+        this.lookupWriter = objectMapper.writerFor(SubscriptionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /**
+     * Tagged with a strong ETag of subscription id and version. A poll with a matching {@code If-None-Match} is
+     * answered 304 from the cached or version-only lookup, without loading the entity or serializing a body.
+     */
     @GetMapping("/me")
     public ResponseEntity<SubscriptionResponse> getMySubscription(
-            @RequestParam UUID userId) {
-        SubscriptionResponse response = subscriptionService.getSubscriptionForUser(userId);
-        return ResponseEntity.ok(response);
+            @RequestParam UUID userId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<SubscriptionVersion> version = subscriptionService.getSubscriptionVersionForUser(userId);
+            if (version.isPresent() && request.checkNotModified(version.get().etag())) {
+                return null; // 304 and ETag already set by checkNotModified
+            }
+        }
+        CachedSubscription current = subscriptionService.getSubscriptionForUser(userId);
+        return ResponseEntity.ok()
+                .eTag(current.subscriptionVersion().etag())
+                .body(current.response());
+    }
+
+    /**
+     * Latest subscription of each user, for callers that would otherwise fan out {@code GET /me} per user.
+     * The lookup is a single query whose connection is released before the response is written; the JSON array
+     * is then serialized straight to the response stream. Users without a subscription are omitted.
+     */
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> lookup(
+            @Valid @RequestBody BulkLookupRequest request) {
+        List<SubscriptionResponse> subscriptions = subscriptionService.getSubscriptionsForUsers(request.userIds());
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter array = lookupWriter.writeValuesAsArray(out)) {
+                for (SubscriptionResponse subscription : subscriptions) {
+                    array.write(subscription);
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PostMapping("/trial")
     public ResponseEntity<SubscriptionResponse> startTrial(
             @Valid @RequestBody StartTrialRequest request) {
         int trialDays = request.trialDays() > 0 ? request.trialDays() : 14;
-        SubscriptionResponse response = subscriptionService.startTrial(request.userId(), trialDays);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(subscriptionService.startTrial(request.userId(), trialDays).orElseThrow());
     }
 
     @PostMapping("/cancel")
     public ResponseEntity<SubscriptionResponse> cancel(
             @Valid @RequestBody CancelRequest request) {
-        SubscriptionResponse response = subscriptionService.cancel(request.userId(), request.atPeriodEnd());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(subscriptionService.cancel(request.userId(), request.atPeriodEnd()).orElseThrow());
     }
 
     @PostMapping("/reactivate")
     public ResponseEntity<SubscriptionResponse> reactivate(
             @Valid @RequestBody ReactivateRequest request) {
-        SubscriptionResponse response = subscriptionService.reactivate(request.userId());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(subscriptionService.reactivate(request.userId()).orElseThrow());
+    }
+
+    /**
+     * Applies a streamed NDJSON file of {@code startTrial} / {@code cancel} operations in chunked transactions.
+     * The response is NDJSON as well: one line per rejected operation, written as the run progresses, then a
+     * final {@code summary} line. A rejected operation never aborts the run, so the status is always 200 once
+     * the stream has started.
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    public void bulkIngest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        SubscriptionBulkIngestService.Summary summary = bulkIngestService.ingest(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), failure -> {
+            try {
+                writeLine(out, Map.of("failure", failure));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // Client went away: stop at the next chunk
+            }
+        });
+        writeLine(out, Map.of("summary", summary));
+    }
+
+    /**
+     * Streams all subscriptions, or those updated since {@code updatedSince}, as NDJSON or CSV (with a header
+     * line) for warehouse loads. Written synchronously to the response like {@code /bulk}, so a long export is not
+     * cut off by the async request timeout. Resume an interrupted export with the last row's {@code id} as
+     * {@code afterId}, plus its {@code updatedAt} as {@code afterUpdatedAt} for an incremental export. An
+     * incremental export also repeats rows from {@code subscription.export.incremental-overlap} before
+     * {@code updatedSince}, to catch late commits.
+     */
+    @GetMapping(value = "/export", produces = {NDJSON, CSV})
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant afterUpdatedAt,
+                       @RequestParam(required = false) UUID afterId,
+                       HttpServletResponse response) throws IOException {
+        SubscriptionExportService.ExportRequest request = new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.parse(format), updatedSince, afterUpdatedAt, afterId);
+        response.setContentType(request.format() == SubscriptionExportService.Format.CSV ? CSV : NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        exportService.export(request, response.getOutputStream());
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
     }
 }
@@ -0,0 +1,12 @@
+package com.subscriptionplatform.subscription.api;
+
+/**
+ * A subscription command the state machine rejected, answered with 409. Rejections are an expected outcome of
+ * user requests, so the exception carries no stack trace and costs little more than its allocation.
+ */
+public class SubscriptionRejectedException extends RuntimeException {
+
+    public SubscriptionRejectedException(String message) {
+        super(message, null, false, false);
+    }
+}
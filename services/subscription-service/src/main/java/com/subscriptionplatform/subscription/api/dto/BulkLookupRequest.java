@@ -0,0 +1,16 @@
+package com.subscriptionplatform.subscription.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkLookupRequest(
+        @NotEmpty(message = "userIds is required")
+        @Size(max = BulkLookupRequest.MAX_USER_IDS, message = "at most " + BulkLookupRequest.MAX_USER_IDS + " userIds per request")
+        List<@NotNull UUID> userIds
+) {
+    public static final int MAX_USER_IDS = 5000;
+}
@@ -0,0 +1,22 @@
+package com.subscriptionplatform.subscription.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+/**
+ * One line of a bulk ingest NDJSON file, for example
+ * {@code {"op":"startTrial","userId":"...","trialDays":14}} or {@code {"op":"cancel","userId":"...","atPeriodEnd":true}}.
+ * {@code trialDays} is 1 to 90; 0 or omitted means the default trial length.
+ */
+public record BulkOperationRequest(
+        Op op,
+        UUID userId,
+        int trialDays,
+        boolean atPeriodEnd
+) {
+    public enum Op {
+        @JsonProperty("startTrial") START_TRIAL,
+        @JsonProperty("cancel") CANCEL
+    }
+}
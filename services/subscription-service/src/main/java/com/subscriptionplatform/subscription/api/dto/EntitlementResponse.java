@@ -0,0 +1,23 @@
+package com.subscriptionplatform.subscription.api.dto;
+
+import com.subscriptionplatform.subscription.domain.Entitlement;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+
+import java.util.UUID;
+
+/** {@code plan} and {@code status} are null for users without a subscription, who are not premium. */
+public record EntitlementResponse(
+        UUID userId,
+        boolean premium,
+        Plan plan,
+        SubscriptionStatus status
+) {
+
+    public static EntitlementResponse of(UUID userId, Entitlement entitlement) {
+        if (entitlement == null) {
+            return new EntitlementResponse(userId, false, null, null);
+        }
+        return new EntitlementResponse(userId, entitlement.premium(), entitlement.plan(), entitlement.status());
+    }
+}
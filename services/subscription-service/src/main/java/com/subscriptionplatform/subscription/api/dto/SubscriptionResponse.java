@@ -1,7 +1,9 @@
 package com.subscriptionplatform.subscription.api.dto;
 
 import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
 import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.repository.SubscriptionSummary;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -17,4 +19,35 @@ public record SubscriptionResponse(
         boolean cancelAtPeriodEnd,
         Instant canceledAt,
         Instant createdAt
-) {}
+) {
+
+    public static SubscriptionResponse from(Subscription s) {
+        return new SubscriptionResponse(
+                s.getId(),
+                s.getUserId(),
+                s.getPlan(),
+                s.getStatus(),
+                s.getTrialEndsAt(),
+                s.getCurrentPeriodStart(),
+                s.getCurrentPeriodEnd(),
+                s.isCancelAtPeriodEnd(),
+                s.getCanceledAt(),
+                s.getCreatedAt()
+        );
+    }
+
+    public static SubscriptionResponse from(SubscriptionSummary s) {
+        return new SubscriptionResponse(
+                s.id(),
+                s.userId(),
+                s.plan(),
+                s.status(),
+                s.trialEndsAt(),
+                s.currentPeriodStart(),
+                s.currentPeriodEnd(),
+                s.cancelAtPeriodEnd(),
+                s.canceledAt(),
+                s.createdAt()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.domain.SubscriptionVersion;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A cached {@code /subscriptions/me} response together with the entity version it was built from.
+ */
+public record CachedSubscription(SubscriptionResponse response, long version) {
+
+    /**
+     * Whether this entry may replace {@code current}. Versions are compared for the same subscription; when the
+     * user's latest subscription changed, the more recently created one wins.
+     */
+    public boolean supersedes(CachedSubscription current) {
+        if (current == null) {
+            return true;
+        }
+        if (response.id().equals(current.response.id())) {
+            return version >= current.version;
+        }
+        return createdAtMicros() > current.createdAtMicros();
+    }
+
+    public SubscriptionVersion subscriptionVersion() {
+        return new SubscriptionVersion(response.id(), version);
+    }
+
+    /** Creation time at database (microsecond) precision, so fresh and reloaded entities compare equal. */
+    public long createdAtMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, response.createdAt());
+    }
+}
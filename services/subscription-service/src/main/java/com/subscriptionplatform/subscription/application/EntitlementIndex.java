@@ -0,0 +1,186 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Entitlement;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact map from user id to the {@link Entitlement} of their latest subscription, for tens of millions of users.
+ * <p>
+ * Open addressing with linear probing over primitive arrays: each slot is the user id as two {@code long}s plus
+ * one {@code byte} encoding plan and status, 17 bytes per slot and about 30 bytes per user at the average load
+ * factor, with no per-entry objects. Lookups return shared {@link Entitlement} instances and never allocate.
+ * Users are never removed; a canceled subscription stays as CANCELED.
+ * <p>
+ * Reads are optimistic ({@link StampedLock#tryOptimisticRead()}) and only take the read lock if a write
+ * overlapped them. Writes are serialized on a separate lock and take the write lock only for the slot update.
+ * Growing copies the table into a larger one outside the write lock: the old table does not change while it is
+ * copied (other writers wait), so readers keep reading it and are only held up by the reference swap. Presize
+ * with the expected user count so a load does not grow at all.
+ */
+public final class EntitlementIndex {
+
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final float MAX_LOAD = 0.75f;
+    private static final byte EMPTY = 0;
+    private static final Entitlement[] BY_CODE = new Entitlement[1 + Plan.values().length * SubscriptionStatus.values().length];
+
+    static {
+        for (Plan plan : Plan.values()) {
+            for (SubscriptionStatus status : SubscriptionStatus.values()) {
+                BY_CODE[code(plan, status)] = new Entitlement(plan, status);
+            }
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final ReentrantLock writers = new ReentrantLock();
+    private Table table; // Replaced only by a writer holding both locks
+
+    public EntitlementIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /** @param expectedUsers presizes the table so loading that many users never grows it */
+    public EntitlementIndex(int expectedUsers) {
+        this.table = new Table(capacityFor(expectedUsers));
+    }
+
+    /** @return the user's entitlement, or null if the user has no subscription */
+    public Entitlement get(UUID userId) {
+        long msb = userId.getMostSignificantBits();
+        long lsb = userId.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        byte code = table.get(msb, lsb);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                code = table.get(msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return code == EMPTY ? null : BY_CODE[code];
+    }
+
+    public void put(UUID userId, Plan plan, SubscriptionStatus status) {
+        writers.lock();
+        try {
+            Table grown = table.size >= table.maxSize ? table.grow() : null; // Readers carry on meanwhile
+            long stamp = lock.writeLock();
+            try {
+                if (grown != null) {
+                    table = grown;
+                }
+                table.put(userId.getMostSignificantBits(), userId.getLeastSignificantBits(), code(plan, status));
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        } finally {
+            writers.unlock();
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return table.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Heap used by the table arrays. */
+    public long memoryBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) table.codes.length * (2 * Long.BYTES + 1);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static byte code(Plan plan, SubscriptionStatus status) {
+        return (byte) (1 + plan.ordinal() * SubscriptionStatus.values().length + status.ordinal());
+    }
+
+    private static int capacityFor(int users) {
+        long needed = (long) Math.ceil(Math.max(users, 1) / MAX_LOAD);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many users for one index: " + users);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private static final class Table {
+
+        final long[] keys; // msb, lsb per slot
+        final byte[] codes; // EMPTY marks a free slot, so any UUID (even nil) can be a key
+        final int mask;
+        final int maxSize;
+        int size;
+
+        Table(int capacity) {
+            this.keys = new long[capacity * 2];
+            this.codes = new byte[capacity];
+            this.mask = capacity - 1;
+            this.maxSize = (int) (capacity * MAX_LOAD);
+        }
+
+        /**
+         * May run concurrently with a write when called optimistically: the probe is bounded by the capacity so a
+         * torn view cannot loop forever, and the caller discards the result if a write overlapped.
+         */
+        byte get(long msb, long lsb) {
+            int slot = slot(msb, lsb);
+            for (int probes = 0; probes <= mask; probes++) {
+                byte code = codes[slot];
+                if (code == EMPTY) {
+                    return EMPTY;
+                }
+                if (keys[2 * slot] == msb && keys[2 * slot + 1] == lsb) {
+                    return code;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return EMPTY;
+        }
+
+        void put(long msb, long lsb, byte code) {
+            int slot = slot(msb, lsb);
+            while (codes[slot] != EMPTY) {
+                if (keys[2 * slot] == msb && keys[2 * slot + 1] == lsb) {
+                    codes[slot] = code;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[2 * slot] = msb;
+            keys[2 * slot + 1] = lsb;
+            codes[slot] = code;
+            size++;
+        }
+
+        Table grow() {
+            if (codes.length == 1 << 30) {
+                throw new IllegalStateException("Entitlement index is full");
+            }
+            Table grown = new Table(codes.length * 2);
+            for (int slot = 0; slot < codes.length; slot++) {
+                if (codes[slot] != EMPTY) {
+                    grown.put(keys[2 * slot], keys[2 * slot + 1], codes[slot]);
+                }
+            }
+            return grown;
+        }
+
+        private int slot(long msb, long lsb) {
+            long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L; // Fibonacci hashing: the high bits mix all key bits
+            return (int) (h >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Entitlement;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.repository.SubscriptionRepository;
+import com.subscriptionplatform.subscription.repository.SubscriptionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers "what does this user's subscription grant" from an in-memory {@link EntitlementIndex} instead of the
+ * JPA path behind {@code /subscriptions/me}.
+ * <p>
+ * The index is loaded once after startup by streaming the latest subscription of every user through a cursor,
+ * on its own thread so the scheduler is not held up. It is then kept current two ways: committed changes made
+ * by this instance are applied right after commit, and every {@code refresh-interval-ms} the subscriptions
+ * updated since the previous refresh (minus {@code refresh-overlap}, for transactions that committed late) are
+ * re-read. The refresh picks up changes from other instances and corrects any after-commit updates applied out
+ * of order. Until the initial load finishes, lookups are answered from Postgres.
+ */
+@Service
+public class EntitlementService {
+
+    private static final Logger log = LoggerFactory.getLogger(EntitlementService.class);
+
+    // Latest subscription per user, as in SubscriptionRepository.findLatestByUserId
+    private static final String LATEST_PER_USER = """
+            SELECT DISTINCT ON (user_id) user_id, plan, status
+            FROM subscription.subscriptions
+            %s
+            ORDER BY user_id, created_at DESC, id DESC
+            """;
+
+    private final EntitlementIndex index;
+    private final SubscriptionRepository subscriptionRepository;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration refreshOverlap;
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile boolean loaded;
+    private volatile Instant refreshedFrom;
+
+    public EntitlementService(SubscriptionRepository subscriptionRepository,
+                              DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${subscription.entitlements.expected-users:1000000}") int expectedUsers,
+                              @Value("${subscription.entitlements.fetch-size:10000}") int fetchSize,
+                              @Value("${subscription.entitlements.refresh-overlap:30s}") Duration refreshOverlap) {
+        this.index = new EntitlementIndex(expectedUsers);
+        this.subscriptionRepository = subscriptionRepository;
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshOverlap = refreshOverlap;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("subscriptions_entitlement_index_users", index, EntitlementIndex::size)
+                .description("Users in the in-memory entitlement index")
+                .register(meterRegistry);
+        Gauge.builder("subscriptions_entitlement_index_bytes", index, EntitlementIndex::memoryBytes)
+                .description("Heap used by the entitlement index tables")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Entitlements of the given users, in request order without duplicates. Users without a subscription map
+     * to null.
+     */
+    public Map<UUID, Entitlement> getEntitlements(Collection<UUID> userIds) {
+        Map<UUID, Entitlement> result = new LinkedHashMap<>();
+        if (loaded) {
+            userIds.forEach(userId -> result.put(userId, index.get(userId)));
+            return result;
+        }
+        Map<UUID, Entitlement> fromDatabase = new HashMap<>();
+        for (SubscriptionSummary s : subscriptionRepository.findLatestSummariesByUserIds(new HashSet<>(userIds))) {
+            fromDatabase.put(s.userId(), new Entitlement(s.plan(), s.status()));
+        }
+        userIds.forEach(userId -> result.put(userId, fromDatabase.get(userId)));
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoad() {
+        if (loading.compareAndSet(false, true)) {
+            Thread.ofPlatform().name("entitlement-index-load").daemon().start(() -> {
+                try {
+                    load();
+                } finally {
+                    loading.set(false);
+                }
+            });
+        }
+    }
+
+    void load() {
+        Instant startedAt = Instant.now();
+        long startNanos = System.nanoTime();
+        try {
+            long rows = stream("", new Object[0]);
+            refreshedFrom = startedAt;
+            loaded = true;
+            log.info("Entitlement index loaded users={} bytes={} elapsedMs={}",
+                    index.size(), index.memoryBytes(), (System.nanoTime() - startNanos) / 1_000_000);
+            meterRegistry.counter("subscriptions_entitlement_index_rows_loaded_total", "phase", "initial").increment(rows);
+        } catch (DataAccessException e) {
+            log.error("Entitlement index load failed, lookups stay on Postgres and the load is retried", e);
+        }
+    }
+
+    /** Re-reads users whose subscriptions changed since the last refresh; retries the initial load if it failed. */
+    @Scheduled(initialDelayString = "${subscription.entitlements.refresh-interval-ms:5000}",
+            fixedDelayString = "${subscription.entitlements.refresh-interval-ms:5000}")
+    public void refresh() {
+        Instant from = refreshedFrom;
+        if (from == null) {
+            startLoad(); // No-op while the initial load is still running
+            return;
+        }
+        Instant startedAt = Instant.now();
+        try {
+            long rows = stream("WHERE user_id IN (SELECT user_id FROM subscription.subscriptions WHERE updated_at >= ?)",
+                    new Object[]{Timestamp.from(from.minus(refreshOverlap))});
+            refreshedFrom = startedAt;
+            meterRegistry.counter("subscriptions_entitlement_index_rows_loaded_total", "phase", "refresh").increment(rows);
+        } catch (DataAccessException e) {
+            log.warn("Entitlement index refresh failed, retrying from the same point: {}", e.getMessage());
+        }
+    }
+
+    /** Runs after commit, so only committed state reaches the index. */
+    @TransactionalEventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        Subscription s = event.subscription();
+        index.put(s.getUserId(), s.getPlan(), s.getStatus());
+    }
+
+    private long stream(String where, Object[] args) {
+        long[] rows = new long[1];
+        readOnlyTransaction.executeWithoutResult(tx -> cursorJdbcTemplate.query(LATEST_PER_USER.formatted(where),
+                (ResultSet rs) -> {
+                    put(rs);
+                    rows[0]++;
+                }, args));
+        return rows[0];
+    }
+
+    private void put(ResultSet rs) throws SQLException {
+        index.put(rs.getObject(1, UUID.class), Plan.valueOf(rs.getString(2)), SubscriptionStatus.valueOf(rs.getString(3)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Subscription;
+
+import java.util.Map;
+
+/**
+ * Serializes subscription events into outbox payloads. The active codec is chosen with {@code outbox.codec};
+ * its {@link #contentType()} is stored on each outbox row and sent as a Kafka header, so rows written before a
+ * switch are still relayed and read correctly.
+ */
+public interface EventCodec {
+
+    String contentType();
+
+    byte[] encode(SubscriptionEventType type, Subscription subscription);
+
+    /**
+     * Reads a payload written by this codec into the field names and string values of the JSON form.
+     *
+     * @throws IllegalArgumentException if the payload is malformed or uses an unsupported schema version
+     */
+    Map<String, Object> decode(byte[] payload);
+}
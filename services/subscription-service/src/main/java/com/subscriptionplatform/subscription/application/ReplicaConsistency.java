@@ -0,0 +1,26 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Subscription;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Staleness policy for reads that a read replica may serve: decides whether a replica result can be returned
+ * given what this instance has committed for the user.
+ */
+public interface ReplicaConsistency {
+
+    /**
+     * Runs {@code query}, which must start its own read-only transaction, and returns a result no older than
+     * this instance's own recent writes for the user.
+     */
+    Optional<Subscription> readLatest(UUID userId, Supplier<Optional<Subscription>> query);
+
+    /**
+     * Whether a replica read for the user might miss a write this instance committed, so a result that bypasses
+     * {@link #readLatest} (such as a version-only lookup) cannot be trusted on its own.
+     */
+    boolean hasRecentWrite(UUID userId);
+}
@@ -5,13 +5,20 @@ import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
 import com.subscriptionplatform.subscription.domain.Plan;
 import com.subscriptionplatform.subscription.domain.Subscription;
 import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.domain.SubscriptionVersion;
+import com.subscriptionplatform.subscription.domain.TransitionResult;
 import com.subscriptionplatform.subscription.repository.SubscriptionRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -22,66 +29,158 @@ public class SubscriptionApplicationService {
     private final SubscriptionRepository subscriptionRepository;
     private final OutboxPublisher outboxPublisher;
     private final MeterRegistry meterRegistry;
+    private final SubscriptionCache subscriptionCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReplicaConsistency replicaConsistency;
+    private final SubscriptionCommandExecutor commandExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     public SubscriptionApplicationService(SubscriptionRepository subscriptionRepository,
                                          OutboxPublisher outboxPublisher,
-                                         MeterRegistry meterRegistry) {
+                                         MeterRegistry meterRegistry,
+                                         SubscriptionCache subscriptionCache,
+                                         ApplicationEventPublisher eventPublisher,
+                                         ReplicaConsistency replicaConsistency,
+                                         SubscriptionCommandExecutor commandExecutor,
+                                         TransactionTemplate transactionTemplate) {
         this.subscriptionRepository = subscriptionRepository;
         this.outboxPublisher = outboxPublisher;
         this.meterRegistry = meterRegistry;
+        this.subscriptionCache = subscriptionCache;
+        this.eventPublisher = eventPublisher;
+        this.replicaConsistency = replicaConsistency;
+        this.commandExecutor = commandExecutor;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional(readOnly = true)
-    public SubscriptionResponse getSubscriptionForUser(UUID userId) {
-        Subscription sub = subscriptionRepository.findLatestByUserId(userId)
+    /**
+     * Not transactional on purpose: a cache hit must not borrow a pooled connection. A miss reads through the
+     * repository, whose query runs in its own read-only transaction and so may be served by a read replica.
+     *
+     * @return the response together with the entity version it was built from (for the ETag)
+     */
+    public CachedSubscription getSubscriptionForUser(UUID userId) {
+        Optional<CachedSubscription> cached = subscriptionCache.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Subscription sub = replicaConsistency.readLatest(userId, () -> subscriptionRepository.findLatestByUserId(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("No subscription found for user " + userId));
-        return toResponse(sub);
+        CachedSubscription current = new CachedSubscription(SubscriptionResponse.from(sub), sub.getVersion());
+        subscriptionCache.put(userId, current);
+        return current;
+    }
+
+    /**
+     * Id and version of the user's current subscription for conditional requests, from the cache or else from a
+     * version-only query: no entity is loaded and no response built. Empty when there is no subscription, or
+     * when a replica might not have this instance's latest write for the user yet; callers then fall back to
+     * {@link #getSubscriptionForUser}.
+     */
+    public Optional<SubscriptionVersion> getSubscriptionVersionForUser(UUID userId) {
+        Optional<CachedSubscription> cached = subscriptionCache.get(userId);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().subscriptionVersion());
+        }
+        if (replicaConsistency.hasRecentWrite(userId)) {
+            return Optional.empty();
+        }
+        return subscriptionRepository.findLatestVersionByUserId(userId);
+    }
+
+    /**
+     * Resolves many users with one set-based query instead of one {@link #getSubscriptionForUser} call each.
+     * Results come back in no particular order; users without a subscription are left out. With read replicas
+     * enabled this reads from a replica without read-your-writes checks.
+     */
+    public List<SubscriptionResponse> getSubscriptionsForUsers(Collection<UUID> userIds) {
+        return subscriptionRepository.findLatestSummariesByUserIds(new HashSet<>(userIds)).stream()
+                .map(SubscriptionResponse::from)
+                .toList();
+    }
+
+    /**
+     * Commands run one transaction per attempt through {@link SubscriptionCommandExecutor}, which retries attempts
+     * that lose an optimistic-lock race. A retry has to start from a fresh read, so no transaction spans retries.
+     * An attempt only reports its transition; metrics and logs are recorded once the command has committed, so an
+     * attempt rolled back by a conflict is not counted twice.
+     */
+    public SubscriptionCommandResult startTrial(UUID userId, int trialDays) {
+        Attempt attempt = commandExecutor.execute("start_trial", userId,
+                () -> transactionTemplate.execute(tx -> applyStartTrial(userId, trialDays)));
+        if (!attempt.result().isRejected()) {
+            recordTransition(attempt);
+            log.info("Trial started for userId={} subscriptionId={}", userId, attempt.result().subscription().id());
+        }
+        return attempt.result();
+    }
+
+    public SubscriptionCommandResult cancel(UUID userId, boolean atPeriodEnd) {
+        Attempt attempt = commandExecutor.execute("cancel", userId,
+                () -> transactionTemplate.execute(tx -> applyCancel(userId, atPeriodEnd)));
+        if (!attempt.result().isRejected()) {
+            log.info("Subscription canceled for userId={} subscriptionId={} atPeriodEnd={}",
+                    userId, attempt.result().subscription().id(), atPeriodEnd);
+        }
+        return attempt.result();
+    }
+
+    public SubscriptionCommandResult reactivate(UUID userId) {
+        Attempt attempt = commandExecutor.execute("reactivate", userId,
+                () -> transactionTemplate.execute(tx -> applyReactivate(userId)));
+        if (!attempt.result().isRejected()) {
+            recordTransition(attempt);
+            log.info("Subscription reactivated for userId={} subscriptionId={}", userId, attempt.result().subscription().id());
+        }
+        return attempt.result();
     }
 
-    @Transactional
-    public SubscriptionResponse startTrial(UUID userId, int trialDays) {
+    private Attempt applyStartTrial(UUID userId, int trialDays) {
         Subscription sub = subscriptionRepository.findActiveByUserId(userId)
                 .orElseGet(() -> createFreeSubscription(userId));
 
         SubscriptionStatus from = sub.getStatus();
-        sub.startTrial(trialDays);
+        TransitionResult result = sub.tryStartTrial(trialDays);
+        if (!result.allowed()) {
+            return Attempt.rejected(result);
+        }
         Subscription saved = subscriptionRepository.save(sub);
 
-        recordTransition(from, sub.getStatus(), saved.getId(), userId);
         outboxPublisher.publishTrialStarted(saved);
-
-        log.info("Trial started for userId={} subscriptionId={}", userId, saved.getId());
-        return toResponse(saved);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(saved));
+        return new Attempt(SubscriptionCommandResult.applied(SubscriptionResponse.from(saved)), from, saved.getStatus());
     }
 
-    @Transactional
-    public SubscriptionResponse cancel(UUID userId, boolean atPeriodEnd) {
+    private Attempt applyCancel(UUID userId, boolean atPeriodEnd) {
         Subscription sub = subscriptionRepository.findActiveByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("No active subscription for user " + userId));
 
-        sub.cancel(atPeriodEnd);
+        SubscriptionStatus from = sub.getStatus();
+        TransitionResult result = sub.tryCancel(atPeriodEnd);
+        if (!result.allowed()) {
+            return Attempt.rejected(result);
+        }
         Subscription saved = subscriptionRepository.save(sub);
 
         outboxPublisher.publishCanceled(saved);
-
-        log.info("Subscription canceled for userId={} subscriptionId={} atPeriodEnd={}", userId, saved.getId(), atPeriodEnd);
-        return toResponse(saved);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(saved));
+        return new Attempt(SubscriptionCommandResult.applied(SubscriptionResponse.from(saved)), from, saved.getStatus());
     }
 
-    @Transactional
-    public SubscriptionResponse reactivate(UUID userId) {
+    private Attempt applyReactivate(UUID userId) {
         Subscription sub = subscriptionRepository.findLatestByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("No subscription found for user " + userId));
 
         SubscriptionStatus from = sub.getStatus();
-        sub.reactivate();
+        TransitionResult result = sub.tryReactivate();
+        if (!result.allowed()) {
+            return Attempt.rejected(result);
+        }
         Subscription saved = subscriptionRepository.save(sub);
 
-        recordTransition(from, sub.getStatus(), saved.getId(), userId);
         outboxPublisher.publishReactivated(saved);
-
-        log.info("Subscription reactivated for userId={} subscriptionId={}", userId, saved.getId());
-        return toResponse(saved);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(saved));
+        return new Attempt(SubscriptionCommandResult.applied(SubscriptionResponse.from(saved)), from, saved.getStatus());
     }
 
     private Subscription createFreeSubscription(UUID userId) {
@@ -92,24 +191,17 @@ public class SubscriptionApplicationService {
         return subscriptionRepository.save(sub);
     }
 
-    private void recordTransition(SubscriptionStatus from, SubscriptionStatus to, UUID subscriptionId, UUID userId) {
+    private void recordTransition(Attempt attempt) {
         meterRegistry.counter("subscriptions_state_transition_total",
-                "from", from.name(),
-                "to", to.name()).increment();
+                "from", attempt.from().name(),
+                "to", attempt.to().name()).increment();
     }
 
-    private SubscriptionResponse toResponse(Subscription s) {
-        return new SubscriptionResponse(
-                s.getId(),
-                s.getUserId(),
-                s.getPlan(),
-                s.getStatus(),
-                s.getTrialEndsAt(),
-                s.getCurrentPeriodStart(),
-                s.getCurrentPeriodEnd(),
-                s.isCancelAtPeriodEnd(),
-                s.getCanceledAt(),
-                s.getCreatedAt()
-        );
+    /** Outcome of one committed attempt, with the transition it made (null statuses if rejected). */
+    private record Attempt(SubscriptionCommandResult result, SubscriptionStatus from, SubscriptionStatus to) {
+
+        static Attempt rejected(TransitionResult result) {
+            return new Attempt(SubscriptionCommandResult.rejected(result), null, null);
+        }
     }
 }
@@ -0,0 +1,271 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.subscriptionplatform.subscription.api.dto.BulkOperationRequest;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.domain.TransitionResult;
+import com.subscriptionplatform.subscription.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applies large NDJSON files of {@code startTrial} / {@code cancel} operations (campaigns, migrations) with the
+ * same domain rules as the single-user API, but in chunked transactions instead of one per user.
+ * <p>
+ * Each chunk loads the active subscriptions of all its users with one query, applies the operations in memory
+ * in file order, and flushes once at commit: new subscriptions, changed rows and outbox events go out as JDBC
+ * batches. The per-user path cannot batch because every {@code findActiveByUserId} auto-flushes the previous
+ * user's pending insert. New trials are inserted directly as TRIALING rather than as a FREE row plus an update.
+ * <p>
+ * Rejected operations (invalid line, no active subscription, disallowed transition) are reported per item and
+ * never abort the run. If a chunk fails to commit (for example on a concurrent update), its items are retried
+ * one transaction each, so only the offending items fail.
+ */
+@Service
+public class SubscriptionBulkIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionBulkIngestService.class);
+    private static final int DEFAULT_TRIAL_DAYS = 14;
+
+    public record Failure(long line, BulkOperationRequest.Op op, UUID userId, String error) {
+    }
+
+    public record Summary(long operations, long applied, long failed, long elapsedMs) {
+    }
+
+    private record Item(long line, BulkOperationRequest request) {
+    }
+
+    private record ChunkResult(int applied, List<Failure> failures, List<SubscriptionStatus[]> transitions) {
+    }
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+    private final ObjectReader lineReader;
+    private final int chunkSize;
+
+    public SubscriptionBulkIngestService(SubscriptionRepository subscriptionRepository,
+                                         OutboxPublisher outboxPublisher,
+                                         ApplicationEventPublisher eventPublisher,
+                                         TransactionTemplate transactionTemplate,
+                                         EntityManager entityManager,
+                                         MeterRegistry meterRegistry,
+                                         ObjectMapper objectMapper,
+                                         @Value("${subscription.bulk-ingest.chunk-size:500}") int chunkSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.lineReader = objectMapper.readerFor(BulkOperationRequest.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads operations line by line and applies them in chunks, so memory stays bounded by the chunk size.
+     * Blank lines are skipped; line numbers in failures are 1-based.
+     *
+     * @param failures receives every rejected operation: malformed lines when read, the rest once their chunk
+     *                 has committed, so lines are not strictly in order
+     */
+    public Summary ingest(Reader ndjson, Consumer<Failure> failures) throws IOException {
+        long startNanos = System.nanoTime();
+        long operations = 0;
+        long applied = 0;
+        long failed = 0;
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(ndjson);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            operations++;
+            Item item = parse(lineNumber, line, failures);
+            if (item == null) {
+                failed++;
+                continue;
+            }
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                ChunkResult result = applyChunk(chunk);
+                result.failures().forEach(failures);
+                applied += result.applied();
+                failed += result.failures().size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            ChunkResult result = applyChunk(chunk);
+            result.failures().forEach(failures);
+            applied += result.applied();
+            failed += result.failures().size();
+        }
+        Summary summary = new Summary(operations, applied, failed, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Bulk ingest finished operations={} applied={} failed={} elapsedMs={}",
+                summary.operations(), summary.applied(), summary.failed(), summary.elapsedMs());
+        return summary;
+    }
+
+    private Item parse(long lineNumber, String line, Consumer<Failure> failures) {
+        BulkOperationRequest request;
+        try {
+            request = lineReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            reject(failures, new Failure(lineNumber, null, null, "Malformed operation: " + e.getOriginalMessage()));
+            return null;
+        }
+        String error = null;
+        if (request.op() == null) {
+            error = "op is required";
+        } else if (request.userId() == null) {
+            error = "userId is required";
+        } else if (request.op() == BulkOperationRequest.Op.START_TRIAL
+                && (request.trialDays() < 0 || request.trialDays() > 90)) {
+            error = "trialDays must be between 1 and 90, or 0 / omitted for the default of " + DEFAULT_TRIAL_DAYS;
+        }
+        if (error != null) {
+            reject(failures, new Failure(lineNumber, request.op(), request.userId(), error));
+            return null;
+        }
+        return new Item(lineNumber, request);
+    }
+
+    private void reject(Consumer<Failure> failures, Failure failure) {
+        meterRegistry.counter("subscriptions_bulk_ingest_operations_total", "result", "failed").increment();
+        failures.accept(failure);
+    }
+
+    private ChunkResult applyChunk(List<Item> chunk) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(tx -> applyInTransaction(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                Item item = chunk.get(0);
+                result = new ChunkResult(0, List.of(new Failure(item.line(), item.request().op(),
+                        item.request().userId(), "Could not apply: " + e.getMessage())), List.of());
+            } else {
+                log.warn("Bulk ingest chunk of {} failed, retrying items one by one: {}", chunk.size(), e.toString());
+                return applyOneByOne(chunk);
+            }
+        }
+        for (SubscriptionStatus[] transition : result.transitions()) {
+            meterRegistry.counter("subscriptions_state_transition_total",
+                    "from", transition[0].name(),
+                    "to", transition[1].name()).increment();
+        }
+        meterRegistry.counter("subscriptions_bulk_ingest_operations_total", "result", "applied").increment(result.applied());
+        meterRegistry.counter("subscriptions_bulk_ingest_operations_total", "result", "failed").increment(result.failures().size());
+        return result;
+    }
+
+    private ChunkResult applyOneByOne(List<Item> chunk) {
+        int applied = 0;
+        List<Failure> failures = new ArrayList<>();
+        for (Item item : chunk) {
+            ChunkResult single = applyChunk(List.of(item));
+            applied += single.applied();
+            failures.addAll(single.failures());
+        }
+        return new ChunkResult(applied, failures, List.of()); // Metrics were recorded per item
+    }
+
+    private ChunkResult applyInTransaction(List<Item> chunk) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+        Set<UUID> userIds = chunk.stream().map(item -> item.request().userId()).collect(Collectors.toSet());
+        Map<UUID, Subscription> active = new HashMap<>();
+        for (Subscription s : subscriptionRepository.findActiveByUserIds(userIds)) {
+            active.putIfAbsent(s.getUserId(), s);
+        }
+
+        int applied = 0;
+        List<Failure> failures = new ArrayList<>();
+        List<SubscriptionStatus[]> transitions = new ArrayList<>();
+        for (Item item : chunk) {
+            String error = switch (item.request().op()) {
+                case START_TRIAL -> startTrial(item.request(), active, transitions);
+                case CANCEL -> cancel(item.request(), active);
+            };
+            if (error == null) {
+                applied++;
+            } else {
+                failures.add(new Failure(item.line(), item.request().op(), item.request().userId(), error));
+            }
+        }
+        return new ChunkResult(applied, failures, transitions); // Everything above is flushed in batches at commit
+    }
+
+    /** @return null when applied, otherwise why the operation was rejected */
+    private String startTrial(BulkOperationRequest request, Map<UUID, Subscription> active,
+                              List<SubscriptionStatus[]> transitions) {
+        Subscription sub = active.get(request.userId());
+        boolean created = sub == null;
+        if (created) {
+            sub = new Subscription();
+            sub.setUserId(request.userId());
+            sub.setPlan(Plan.FREE);
+            sub.setStatus(SubscriptionStatus.FREE);
+        }
+        SubscriptionStatus from = sub.getStatus();
+        TransitionResult result = sub.tryStartTrial(request.trialDays() > 0 ? request.trialDays() : DEFAULT_TRIAL_DAYS);
+        if (!result.allowed()) {
+            return result.reason();
+        }
+        if (created) {
+            subscriptionRepository.save(sub); // Persist only: the insert is queued until the chunk flushes
+            active.put(request.userId(), sub);
+        }
+        transitions.add(new SubscriptionStatus[]{from, sub.getStatus()});
+        outboxPublisher.publishTrialStarted(sub);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(sub));
+        return null;
+    }
+
+    private String cancel(BulkOperationRequest request, Map<UUID, Subscription> active) {
+        Subscription sub = active.get(request.userId());
+        if (sub == null) {
+            return "No active subscription for user " + request.userId();
+        }
+        TransitionResult result = sub.tryCancel(request.atPeriodEnd());
+        if (!result.allowed()) {
+            return result.reason();
+        }
+        if (!request.atPeriodEnd()) {
+            active.remove(request.userId());
+        }
+        outboxPublisher.publishCanceled(sub);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(sub));
+        return null;
+    }
+}
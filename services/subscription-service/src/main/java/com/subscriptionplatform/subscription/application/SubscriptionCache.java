@@ -0,0 +1,15 @@
+package com.subscriptionplatform.subscription.application;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache for the latest subscription of a user. Writes that would replace a newer entry with an
+ * older one (see {@link CachedSubscription#supersedes}) are ignored.
+ */
+public interface SubscriptionCache {
+
+    Optional<CachedSubscription> get(UUID userId);
+
+    void put(UUID userId, CachedSubscription entry);
+}
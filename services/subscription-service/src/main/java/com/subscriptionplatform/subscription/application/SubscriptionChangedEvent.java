@@ -0,0 +1,10 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Subscription;
+
+/**
+ * Published inside the transaction that changed a subscription. Listeners that must only see committed state
+ * use {@code @TransactionalEventListener}; by then the entity carries its flushed version.
+ */
+public record SubscriptionChangedEvent(Subscription subscription) {
+}
@@ -0,0 +1,129 @@
+package com.subscriptionplatform.subscription.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs a user's mutating command, each attempt in its own transaction supplied by the caller, and retries it when
+ * the commit loses an optimistic-lock race ({@code @Version}) with a concurrent command for the same subscription.
+ * A retry re-reads the subscription, so it either applies on top of the winner's change or is rejected by the
+ * state machine like any other request. Backoff is exponential with full jitter, capped at {@code max-backoff};
+ * once {@code max-attempts} are used up the conflict is rethrown and answered with 409.
+ * <p>
+ * With {@code subscription.user-locks.enabled}, commands for the same user are also serialized in-process on one
+ * of a fixed set of lock stripes, held until commit. That removes conflicts between requests served by this
+ * instance; requests for the same user on other instances and the lifecycle sweeper are still only caught by
+ * the version check. Unrelated users sharing a stripe wait for each other, so keep {@code stripes} well above
+ * the number of concurrent commands.
+ * <p>
+ * Metrics: {@code subscriptions_optimistic_lock_conflicts_total{operation,outcome}} with outcome
+ * {@code retried} or {@code exhausted}, and {@code subscriptions_user_lock_wait_seconds} when locks are enabled.
+ */
+@Component
+public class SubscriptionCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionCommandExecutor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final ReentrantLock[] stripes;
+    private final Timer lockWait;
+
+    public SubscriptionCommandExecutor(MeterRegistry meterRegistry,
+                                       @Value("${subscription.command-retry.max-attempts:4}") int maxAttempts,
+                                       @Value("${subscription.command-retry.initial-backoff:10ms}") Duration initialBackoff,
+                                       @Value("${subscription.command-retry.max-backoff:200ms}") Duration maxBackoff,
+                                       @Value("${subscription.user-locks.enabled:false}") boolean userLocks,
+                                       @Value("${subscription.user-locks.stripes:1024}") int stripeCount) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("subscription.command-retry.max-attempts must be at least 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        if (userLocks) {
+            this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new ReentrantLock();
+            }
+            this.lockWait = Timer.builder("subscriptions_user_lock_wait")
+                    .description("Time a subscription command waited for its user's lock stripe")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        } else {
+            this.stripes = null;
+            this.lockWait = null;
+        }
+    }
+
+    /**
+     * @param operation  metric tag and log label, e.g. {@code cancel}
+     * @param transaction one attempt of the command, committing its own transaction before it returns
+     */
+    public <T> T execute(String operation, UUID userId, Supplier<T> transaction) {
+        if (stripes == null) {
+            return executeWithRetry(operation, userId, transaction);
+        }
+        ReentrantLock lock = stripes[stripe(userId)];
+        long waitStart = System.nanoTime();
+        lock.lock();
+        try {
+            lockWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            return executeWithRetry(operation, userId, transaction);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T executeWithRetry(String operation, UUID userId, Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == maxAttempts) {
+                    meterRegistry.counter("subscriptions_optimistic_lock_conflicts_total",
+                            "operation", operation, "outcome", "exhausted").increment();
+                    log.warn("Giving up {} for userId={} after {} conflicting attempts", operation, userId, attempt);
+                    throw e;
+                }
+                meterRegistry.counter("subscriptions_optimistic_lock_conflicts_total",
+                        "operation", operation, "outcome", "retried").increment();
+                log.debug("Concurrent update during {} for userId={}, retrying (attempt {})", operation, userId, attempt);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(int attempt, OptimisticLockingFailureException conflict) {
+        long cap = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    int stripe(UUID userId) {
+        int hash = userId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
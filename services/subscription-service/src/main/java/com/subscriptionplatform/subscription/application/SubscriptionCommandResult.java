@@ -0,0 +1,33 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.api.SubscriptionRejectedException;
+import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.domain.TransitionResult;
+
+/**
+ * Outcome of a subscription command: the updated subscription, or the reason the state machine rejected it.
+ * Rejections are an expected outcome of user requests, so they are returned; callers that answer the request
+ * turn them into a stackless {@link SubscriptionRejectedException} with {@link #orElseThrow()}.
+ */
+public record SubscriptionCommandResult(SubscriptionResponse subscription, String rejection) {
+
+    static SubscriptionCommandResult applied(SubscriptionResponse subscription) {
+        return new SubscriptionCommandResult(subscription, null);
+    }
+
+    static SubscriptionCommandResult rejected(TransitionResult result) {
+        return new SubscriptionCommandResult(null, result.reason());
+    }
+
+    public boolean isRejected() {
+        return rejection != null;
+    }
+
+    /** The updated subscription, or a {@link SubscriptionRejectedException} with the rejection reason. */
+    public SubscriptionResponse orElseThrow() {
+        if (isRejected()) {
+            throw new SubscriptionRejectedException(rejection);
+        }
+        return subscription;
+    }
+}
@@ -0,0 +1,24 @@
+package com.subscriptionplatform.subscription.application;
+
+/**
+ * Events published to {@code subscription.events}, with the {@code event_type} stored on their outbox row.
+ */
+public enum SubscriptionEventType {
+    TRIAL_STARTED("trial_started"),
+    ACTIVATED("activated"),
+    CANCELED("canceled"),
+    PAST_DUE("past_due"),
+    GRACE_STARTED("grace_started"),
+    EXPIRED("expired"),
+    REACTIVATED("reactivated");
+
+    private final String eventType;
+
+    SubscriptionEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String eventType() {
+        return eventType;
+    }
+}
@@ -0,0 +1,266 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams {@code subscription.subscriptions} as NDJSON or CSV for the data warehouse, with memory use independent
+ * of the table size: rows come from a server-side cursor ({@code fetch-size} rows per round trip) and each row is
+ * written to the output stream as it is read, without entities or a persistence context.
+ * <p>
+ * A full export walks the primary key; an incremental export ({@code updatedSince}) walks
+ * {@code (updated_at, id)}. Either can be resumed after the last row received: pass its {@code id}, plus its
+ * {@code updated_at} for an incremental export. Each export reads one REPEATABLE READ snapshot in a read-only
+ * transaction, so it goes to a read replica when those are enabled.
+ * <p>
+ * {@code updated_at} is set when a transaction writes the row, not when it commits, so a row committed after an
+ * export can carry a timestamp the export already passed. An incremental export therefore starts
+ * {@code incremental-overlap} before {@code updatedSince} and repeats the rows of that window: a row whose
+ * transaction commits within the overlap of its {@code updated_at} is picked up by the next incremental export
+ * started from the previous one's last {@code updatedAt}. Transactions open longer than the overlap can still be
+ * missed; the periodic full export covers those. Consumers must upsert by {@code id} and keep the highest
+ * {@code version}, since rows in the overlap are delivered again.
+ */
+@Service
+public class SubscriptionExportService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (ndjson or csv)");
+        }
+    }
+
+    /**
+     * @param updatedSince   only rows with {@code updated_at >= updatedSince}; null for a full export
+     * @param afterUpdatedAt resume position of an incremental export, together with {@code afterId}
+     * @param afterId        resume after this id (full export) or after {@code (afterUpdatedAt, afterId)}
+     */
+    public record ExportRequest(Format format, Instant updatedSince, Instant afterUpdatedAt, UUID afterId) {
+
+        public ExportRequest {
+            if (format == null) {
+                throw new IllegalArgumentException("format is required");
+            }
+            if (updatedSince == null && afterUpdatedAt != null) {
+                throw new IllegalArgumentException("afterUpdatedAt only applies to incremental exports (updatedSince)");
+            }
+            if (updatedSince != null && afterId != null && afterUpdatedAt == null) {
+                throw new IllegalArgumentException("Resuming an incremental export needs both afterUpdatedAt and afterId");
+            }
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionExportService.class);
+
+    private static final String COLUMNS = "id, user_id, plan, status, trial_ends_at, current_period_start, "
+            + "current_period_end, cancel_at_period_end, canceled_at, version, created_at, updated_at";
+    private static final String[] FIELDS = {"id", "userId", "plan", "status", "trialEndsAt", "currentPeriodStart",
+            "currentPeriodEnd", "cancelAtPeriodEnd", "canceledAt", "version", "createdAt", "updatedAt"};
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ObjectMapper objectMapper;
+    private final Duration incrementalOverlap;
+
+    public SubscriptionExportService(DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     @Value("${subscription.export.fetch-size:5000}") int fetchSize,
+                                     @Value("${subscription.export.incremental-overlap:30s}") Duration incrementalOverlap) {
+        // Postgres only streams through a cursor inside a transaction and with a fetch size; otherwise the driver
+        // buffers the whole result set
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.incrementalOverlap = incrementalOverlap;
+    }
+
+    /**
+     * Writes the export to {@code out}. Output is flushed in buffer-sized pieces, so an export cut off part way may
+     * end in a partial line; resume from the last complete one.
+     *
+     * @return number of rows written
+     * @throws UncheckedIOException if the client goes away; the cursor and transaction are closed
+     */
+    public long export(ExportRequest request, OutputStream out) {
+        long startNanos = System.nanoTime();
+        RowWriter writer = request.format() == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        List<Object> args = new ArrayList<>(3);
+        String sql = query(request, incrementalOverlap, args);
+        long[] rows = new long[1];
+        snapshotTransaction.executeWithoutResult(tx -> cursorJdbcTemplate.query(sql, rs -> {
+            try {
+                writer.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        }, args.toArray()));
+        try {
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Subscription export finished format={} incremental={} resumed={} rows={} elapsedMs={}",
+                request.format(), request.updatedSince() != null, request.afterId() != null, rows[0],
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return rows[0];
+    }
+
+    static String query(ExportRequest request, Duration incrementalOverlap, List<Object> args) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM subscription.subscriptions");
+        if (request.updatedSince() == null) {
+            if (request.afterId() != null) {
+                sql.append(" WHERE id > ?");
+                args.add(request.afterId());
+            }
+            return sql.append(" ORDER BY id").toString();
+        }
+        sql.append(" WHERE updated_at >= ?");
+        args.add(Timestamp.from(request.updatedSince().minus(incrementalOverlap)));
+        if (request.afterId() != null) {
+            sql.append(" AND (updated_at, id) > (?, ?)");
+            args.add(Timestamp.from(request.afterUpdatedAt()));
+            args.add(request.afterId());
+        }
+        return sql.append(" ORDER BY updated_at, id").toString();
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /** One JSON object per line, written field by field: no per-row DTO or tree. */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(OutputStream out) {
+            try {
+                this.json = objectMapper.getFactory().createGenerator(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeStringField(FIELDS[0], rs.getString(1));
+            json.writeStringField(FIELDS[1], rs.getString(2));
+            json.writeStringField(FIELDS[2], rs.getString(3));
+            json.writeStringField(FIELDS[3], rs.getString(4));
+            writeInstant(FIELDS[4], rs.getTimestamp(5));
+            writeInstant(FIELDS[5], rs.getTimestamp(6));
+            writeInstant(FIELDS[6], rs.getTimestamp(7));
+            json.writeBooleanField(FIELDS[7], rs.getBoolean(8));
+            writeInstant(FIELDS[8], rs.getTimestamp(9));
+            json.writeNumberField(FIELDS[9], rs.getLong(10));
+            writeInstant(FIELDS[10], rs.getTimestamp(11));
+            writeInstant(FIELDS[11], rs.getTimestamp(12));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        private void writeInstant(String field, Timestamp value) throws IOException {
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeStringField(field, value.toInstant().toString());
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush(); // Not close(): that would also close the servlet stream
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line of the same names as the NDJSON keys. Every value is a UUID, enum name,
+     * number, boolean or ISO-8601 instant, so none needs quoting; null is an empty field.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer csv;
+
+        CsvRowWriter(OutputStream out) {
+            this.csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            try {
+                csv.write(String.join(",", FIELDS));
+                csv.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int column = 1; column <= FIELDS.length; column++) {
+                if (column > 1) {
+                    csv.write(',');
+                }
+                switch (column) {
+                    case 5, 6, 7, 9, 11, 12 -> {
+                        Timestamp value = rs.getTimestamp(column);
+                        if (value != null) {
+                            csv.write(value.toInstant().toString());
+                        }
+                    }
+                    case 8 -> csv.write(rs.getBoolean(column) ? "true" : "false");
+                    default -> {
+                        String value = rs.getString(column);
+                        if (value != null) {
+                            csv.write(value);
+                        }
+                    }
+                }
+            }
+            csv.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            csv.flush();
+        }
+    }
+}
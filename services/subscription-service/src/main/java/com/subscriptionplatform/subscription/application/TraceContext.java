@@ -0,0 +1,123 @@
+package com.subscriptionplatform.subscription.application;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context (<a href="https://www.w3.org/TR/trace-context/">traceparent</a>) for the current request,
+ * kept in the MDC: {@code traceId} for log lines and error responses, {@code traceparent} for propagation into
+ * outbox rows and from there into Kafka headers.
+ * <p>
+ * Ids come from {@link ThreadLocalRandom}: trace ids only need to be unique, not unpredictable, and this avoids
+ * the shared {@code SecureRandom} behind {@code UUID.randomUUID()} and any string munging.
+ */
+public final class TraceContext {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final String MDC_TRACEPARENT = "traceparent";
+
+    private static final String VERSION = "00";
+    private static final String SAMPLED = "01";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int TRACEPARENT_LENGTH = 55; // 00-<32 hex trace id>-<16 hex parent id>-<2 hex flags>
+
+    private TraceContext() {
+    }
+
+    /** The current request's {@code traceparent}, or null outside a traced request (e.g. scheduled jobs). */
+    public static String currentTraceparent() {
+        return MDC.get(MDC_TRACEPARENT);
+    }
+
+    /**
+     * Starts this service's span: continues the caller's trace from a valid {@code traceparent}, else from a hex
+     * {@code X-Trace-Id} (16 or 32 digits, the former left-padded), else starts a new trace. Any other
+     * {@code X-Trace-Id} is still used as the log trace id, as before.
+     *
+     * @return the {@code traceparent} to propagate, with a new span id and the caller's flags
+     */
+    public static String start(String traceparentHeader, String legacyTraceId) {
+        String traceId;
+        String logTraceId = null;
+        String flags = SAMPLED;
+        if (isValidTraceparent(traceparentHeader)) {
+            traceId = traceparentHeader.substring(3, 35);
+            flags = traceparentHeader.substring(53, 55);
+        } else if (legacyTraceId != null && (legacyTraceId.length() == 16 || legacyTraceId.length() == 32)
+                && isLowerHex(legacyTraceId, 0, legacyTraceId.length()) && !isZero(legacyTraceId, 0, legacyTraceId.length())) {
+            traceId = legacyTraceId.length() == 32 ? legacyTraceId : "0000000000000000" + legacyTraceId;
+        } else {
+            traceId = newTraceId();
+            if (legacyTraceId != null && !legacyTraceId.isBlank()) {
+                logTraceId = legacyTraceId; // Not a valid trace id, but callers may still search logs for it
+            }
+        }
+        String traceparent = VERSION + '-' + traceId + '-' + newSpanId() + '-' + flags;
+        MDC.put(MDC_TRACE_ID, logTraceId != null ? logTraceId : traceId);
+        MDC.put(MDC_TRACEPARENT, traceparent);
+        return traceparent;
+    }
+
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0); // All-zero ids are invalid
+        char[] id = new char[32];
+        writeHex(high, id, 0);
+        writeHex(low, id, 16);
+        return new String(id);
+    }
+
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+        char[] chars = new char[16];
+        writeHex(id, chars, 0);
+        return new String(chars);
+    }
+
+    static boolean isValidTraceparent(String value) {
+        return value != null
+                && value.length() == TRACEPARENT_LENGTH
+                && value.startsWith(VERSION)
+                && value.charAt(2) == '-' && value.charAt(35) == '-' && value.charAt(52) == '-'
+                && isLowerHex(value, 3, 35) && !isZero(value, 3, 35)
+                && isLowerHex(value, 36, 52) && !isZero(value, 36, 52)
+                && isLowerHex(value, 53, 55);
+    }
+
+    private static void writeHex(long value, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean isLowerHex(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package com.subscriptionplatform.subscription.config;
 
+import com.subscriptionplatform.subscription.application.TraceContext;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,7 +14,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Configuration
 public class LoggingConfig {
@@ -26,13 +26,11 @@ public class LoggingConfig {
             public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
                     throws IOException, ServletException {
                 try {
-                    String traceId = request instanceof HttpServletRequest req
-                            ? req.getHeader("X-Trace-Id")
-                            : null;
-                    if (traceId == null || traceId.isBlank()) {
-                        traceId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+                    if (request instanceof HttpServletRequest req) {
+                        TraceContext.start(req.getHeader(TraceContext.TRACEPARENT_HEADER), req.getHeader("X-Trace-Id"));
+                    } else {
+                        TraceContext.start(null, null);
                     }
-                    MDC.put("traceId", traceId);
                     chain.doFilter(request, response);
                 } finally {
                     MDC.clear();
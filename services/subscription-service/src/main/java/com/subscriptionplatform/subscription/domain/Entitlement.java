@@ -0,0 +1,15 @@
+package com.subscriptionplatform.subscription.domain;
+
+/**
+ * What a user's latest subscription grants. Premium means a paid plan in a status that still grants its features:
+ * trialing, active, or in payment recovery (past due, grace period). Canceled and expired subscriptions do not.
+ */
+public record Entitlement(Plan plan, SubscriptionStatus status) {
+
+    public boolean premium() {
+        return plan != Plan.FREE && switch (status) {
+            case TRIALING, ACTIVE, PAST_DUE, GRACE_PERIOD -> true;
+            case FREE, CANCELED, EXPIRED -> false;
+        };
+    }
+}
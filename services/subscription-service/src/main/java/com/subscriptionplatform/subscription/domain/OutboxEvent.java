@@ -12,14 +12,18 @@ import java.util.UUID;
 public class OutboxEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false, length = 255)
     private String topic;
 
-    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
-    private String payload;
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    /** Format of {@link #payload}, set by the EventCodec that wrote it and sent as a Kafka header. */
+    @Column(name = "content_type", nullable = false, length = 64)
+    private String contentType;
 
     @Column(name = "aggregate_type", length = 64)
     private String aggregateType;
@@ -30,12 +34,20 @@ public class OutboxEvent {
     @Column(name = "event_type", nullable = false, length = 64)
     private String eventType;
 
+    /** W3C trace context of the request that wrote the event, sent as a Kafka header; null for background jobs. */
+    @Column(name = "traceparent", length = 55)
+    private String traceparent;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     @Column(name = "sent_at")
     private Instant sentAt;
 
+    /** Computed by the database from aggregate_id; see V2__outbox_relay_slot_leases.sql. */
+    @Column(name = "relay_slot", insertable = false, updatable = false)
+    private Short relaySlot;
+
     @PrePersist
     void onCreate() {
         createdAt = Instant.now();
@@ -53,14 +65,22 @@ public class OutboxEvent {
         this.topic = topic;
     }
 
-    public String getPayload() {
+    public byte[] getPayload() {
         return payload;
     }
 
-    public void setPayload(String payload) {
+    public void setPayload(byte[] payload) {
         this.payload = payload;
     }
 
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
     public String getAggregateType() {
         return aggregateType;
     }
@@ -85,6 +105,14 @@ public class OutboxEvent {
         this.eventType = eventType;
     }
 
+    public String getTraceparent() {
+        return traceparent;
+    }
+
+    public void setTraceparent(String traceparent) {
+        this.traceparent = traceparent;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -96,4 +124,8 @@ public class OutboxEvent {
     public void setSentAt(Instant sentAt) {
         this.sentAt = sentAt;
     }
+
+    public Short getRelaySlot() {
+        return relaySlot;
+    }
 }
@@ -11,8 +11,10 @@ import java.util.UUID;
 })
 public class Subscription {
 
+    private static final TransitionResult ALREADY_IN_TRIAL = TransitionResult.rejected("User is already in trial");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -66,15 +68,27 @@ public class Subscription {
     // --- State transitions (domain logic) ---
 
     public void startTrial(int trialDays) {
+        tryStartTrial(trialDays).orThrow();
+    }
+
+    /**
+     * Starts a trial if the current status allows it; otherwise leaves the subscription unchanged.
+     * The non-throwing form of {@link #startTrial(int)} for request paths where a rejection is an expected outcome.
+     */
+    public TransitionResult tryStartTrial(int trialDays) {
         if (status == SubscriptionStatus.TRIALING) {
-            throw new IllegalStateException("User is already in trial");
+            return ALREADY_IN_TRIAL;
+        }
+        TransitionResult result = SubscriptionStateMachine.check(status, SubscriptionStatus.TRIALING);
+        if (!result.allowed()) {
+            return result;
         }
-        SubscriptionStateMachine.validateTransition(status, SubscriptionStatus.TRIALING);
         this.status = SubscriptionStatus.TRIALING;
         this.plan = plan == Plan.FREE ? Plan.INDIVIDUAL : plan;
         this.trialEndsAt = Instant.now().plusSeconds(trialDays * 86400L);
         this.currentPeriodStart = Instant.now();
         this.currentPeriodEnd = trialEndsAt;
+        return result;
     }
 
     public void activate() {
@@ -95,23 +109,52 @@ public class Subscription {
     }
 
     public void cancel(boolean atPeriodEnd) {
+        tryCancel(atPeriodEnd).orThrow();
+    }
+
+    /** Non-throwing form of {@link #cancel(boolean)}; a rejected cancel leaves the subscription unchanged. */
+    public TransitionResult tryCancel(boolean atPeriodEnd) {
         if (atPeriodEnd) {
             this.cancelAtPeriodEnd = true;
             this.canceledAt = Instant.now();
             // Status stays as-is until period ends
-        } else {
-            SubscriptionStateMachine.validateTransition(status, SubscriptionStatus.CANCELED);
+            return TransitionResult.ALLOWED;
+        }
+        TransitionResult result = SubscriptionStateMachine.check(status, SubscriptionStatus.CANCELED);
+        if (result.allowed()) {
             this.status = SubscriptionStatus.CANCELED;
             this.canceledAt = Instant.now();
             this.cancelAtPeriodEnd = false;
         }
+        return result;
     }
 
-    public void reactivate() {
-        SubscriptionStateMachine.validateTransition(status, SubscriptionStatus.ACTIVE);
-        this.status = SubscriptionStatus.ACTIVE;
+    /**
+     * Ends a subscription whose cancellation was deferred with {@code cancel(true)} once its period is over.
+     * Keeps {@code canceledAt} from the original request.
+     */
+    public void completeScheduledCancellation() {
+        if (!cancelAtPeriodEnd) {
+            throw new IllegalStateException("Subscription has no cancellation scheduled");
+        }
+        SubscriptionStateMachine.validateTransition(status, SubscriptionStatus.CANCELED);
+        this.status = SubscriptionStatus.CANCELED;
         this.cancelAtPeriodEnd = false;
-        this.canceledAt = null;
+    }
+
+    public void reactivate() {
+        tryReactivate().orThrow();
+    }
+
+    /** Non-throwing form of {@link #reactivate()}; a rejected reactivation leaves the subscription unchanged. */
+    public TransitionResult tryReactivate() {
+        TransitionResult result = SubscriptionStateMachine.check(status, SubscriptionStatus.ACTIVE);
+        if (result.allowed()) {
+            this.status = SubscriptionStatus.ACTIVE;
+            this.cancelAtPeriodEnd = false;
+            this.canceledAt = null;
+        }
+        return result;
     }
 
     public void expire() {
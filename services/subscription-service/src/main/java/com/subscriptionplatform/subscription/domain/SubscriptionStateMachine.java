@@ -1,49 +1,68 @@
 package com.subscriptionplatform.subscription.domain;
 
-import java.util.EnumSet;
-import java.util.Map;
-import java.util.Set;
-
 /**
  * Enforces valid subscription state transitions.
  * Models Spotify-like lifecycle: free → trial → active → past_due → grace_period → canceled/expired
+ * <p>
+ * Transitions are held in a matrix indexed by {@link SubscriptionStatus#ordinal()} whose cells are preallocated
+ * {@link TransitionResult}s, including the rejection message. {@link #check} is two array loads and never
+ * allocates or throws; {@link #validateTransition} only pays for an exception when a transition is rejected.
  */
 public final class SubscriptionStateMachine {
 
-    private static final Map<SubscriptionStatus, Set<SubscriptionStatus>> ALLOWED_TRANSITIONS = Map.of(
-            SubscriptionStatus.FREE, EnumSet.of(SubscriptionStatus.TRIALING, SubscriptionStatus.ACTIVE),
-            SubscriptionStatus.TRIALING, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED),
-            SubscriptionStatus.ACTIVE, EnumSet.of(SubscriptionStatus.PAST_DUE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED, SubscriptionStatus.GRACE_PERIOD),
-            SubscriptionStatus.PAST_DUE, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.GRACE_PERIOD, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED),
-            SubscriptionStatus.GRACE_PERIOD, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED),
-            SubscriptionStatus.CANCELED, EnumSet.of(SubscriptionStatus.ACTIVE), // reactivation
-            SubscriptionStatus.EXPIRED, EnumSet.of(SubscriptionStatus.ACTIVE, SubscriptionStatus.TRIALING) // re-subscribe
-    );
+    private static final TransitionResult[][] TRANSITIONS;
+
+    static {
+        SubscriptionStatus[] statuses = SubscriptionStatus.values();
+        TransitionResult[][] matrix = new TransitionResult[statuses.length][statuses.length];
+        allow(matrix, SubscriptionStatus.FREE, SubscriptionStatus.TRIALING, SubscriptionStatus.ACTIVE);
+        allow(matrix, SubscriptionStatus.TRIALING, SubscriptionStatus.ACTIVE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED);
+        allow(matrix, SubscriptionStatus.ACTIVE, SubscriptionStatus.PAST_DUE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED, SubscriptionStatus.GRACE_PERIOD);
+        allow(matrix, SubscriptionStatus.PAST_DUE, SubscriptionStatus.ACTIVE, SubscriptionStatus.GRACE_PERIOD, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED);
+        allow(matrix, SubscriptionStatus.GRACE_PERIOD, SubscriptionStatus.ACTIVE, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED);
+        allow(matrix, SubscriptionStatus.CANCELED, SubscriptionStatus.ACTIVE); // reactivation
+        allow(matrix, SubscriptionStatus.EXPIRED, SubscriptionStatus.ACTIVE, SubscriptionStatus.TRIALING); // re-subscribe
+        for (SubscriptionStatus from : statuses) {
+            for (SubscriptionStatus to : statuses) {
+                if (from == to) {
+                    matrix[from.ordinal()][to.ordinal()] = TransitionResult.ALLOWED;
+                } else if (matrix[from.ordinal()][to.ordinal()] == null) {
+                    matrix[from.ordinal()][to.ordinal()] =
+                            TransitionResult.rejected("Invalid subscription transition: " + from + " -> " + to);
+                }
+            }
+        }
+        TRANSITIONS = matrix;
+    }
 
     private SubscriptionStateMachine() {
     }
 
+    private static void allow(TransitionResult[][] matrix, SubscriptionStatus from, SubscriptionStatus... targets) {
+        for (SubscriptionStatus to : targets) {
+            matrix[from.ordinal()][to.ordinal()] = TransitionResult.ALLOWED;
+        }
+    }
+
+    /**
+     * Checks whether transitioning from {@code from} to {@code to} is allowed. Staying in the same status is.
+     *
+     * @return {@link TransitionResult#ALLOWED} or a shared rejection for this pair
+     */
+    public static TransitionResult check(SubscriptionStatus from, SubscriptionStatus to) {
+        return TRANSITIONS[from.ordinal()][to.ordinal()];
+    }
+
     /**
      * Validates that transitioning from {@code from} to {@code to} is allowed.
      *
      * @throws IllegalStateException if transition is not allowed
      */
     public static void validateTransition(SubscriptionStatus from, SubscriptionStatus to) {
-        if (from == to) {
-            return;
-        }
-        Set<SubscriptionStatus> allowed = ALLOWED_TRANSITIONS.get(from);
-        if (allowed == null || !allowed.contains(to)) {
-            throw new IllegalStateException(
-                    "Invalid subscription transition: " + from + " -> " + to);
-        }
+        check(from, to).orThrow();
     }
 
     public static boolean canTransition(SubscriptionStatus from, SubscriptionStatus to) {
-        if (from == to) {
-            return true;
-        }
-        Set<SubscriptionStatus> allowed = ALLOWED_TRANSITIONS.get(from);
-        return allowed != null && allowed.contains(to);
+        return check(from, to).allowed();
     }
 }
@@ -0,0 +1,15 @@
+package com.subscriptionplatform.subscription.domain;
+
+import java.util.UUID;
+
+/**
+ * Identity and {@code @Version} of a user's current subscription: enough to tell whether a client's copy is
+ * current without loading the entity. A new subscription for the user has a new id, so it never matches.
+ */
+public record SubscriptionVersion(UUID id, long version) {
+
+    /** Value of a strong ETag for {@code GET /subscriptions/me}, unquoted. */
+    public String etag() {
+        return id + "-" + version;
+    }
+}
@@ -0,0 +1,26 @@
+package com.subscriptionplatform.subscription.domain;
+
+/**
+ * Outcome of checking a state transition without throwing.
+ * Instances are preallocated by {@link SubscriptionStateMachine}, so checking a transition allocates nothing.
+ *
+ * @param allowed whether the transition may be applied
+ * @param reason  why it was rejected, or {@code null} when allowed
+ */
+public record TransitionResult(boolean allowed, String reason) {
+
+    public static final TransitionResult ALLOWED = new TransitionResult(true, null);
+
+    static TransitionResult rejected(String reason) {
+        return new TransitionResult(false, reason);
+    }
+
+    /**
+     * @throws IllegalStateException with {@link #reason()} if the transition was rejected
+     */
+    public void orThrow() {
+        if (!allowed) {
+            throw new IllegalStateException(reason);
+        }
+    }
+}
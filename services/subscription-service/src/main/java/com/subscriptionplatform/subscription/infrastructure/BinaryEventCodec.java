@@ -0,0 +1,203 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.application.EventCodec;
+import com.subscriptionplatform.subscription.application.SubscriptionEventType;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fixed-layout binary outbox format, big-endian:
+ * <pre>
+ * header (35 bytes)  magic 0xE5 | schema version | event type code | subscription id (16) | user id (16)
+ * trial_started      plan | status | trialEndsAt
+ * activated          plan | status
+ * canceled           flags (bit 0 = cancelAtPeriodEnd) | canceledAt
+ * expired            plan | expiredAt
+ * past_due, grace_started, reactivated
+ *                    plan
+ * </pre>
+ * Enum values are one-byte codes and instants are epoch microseconds, the precision Postgres stores, with
+ * {@link Long#MIN_VALUE} for null. Every event type has a fixed size, so each encode allocates exactly one array
+ * and runs a writer chosen when the class is loaded.
+ * <p>
+ * Schema evolution: codes are positions in the {@code *_CODES} tables below, which are append-only. Changing
+ * a layout or the meaning of a code requires a new schema version, and {@link #decode} must keep reading the
+ * old one until no consumer can still see it.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.codec", havingValue = "binary", matchIfMissing = true)
+public class BinaryEventCodec implements EventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.subscription-event+binary";
+    public static final byte SCHEMA_VERSION = 1;
+
+    static final byte MAGIC = (byte) 0xE5;
+    static final int HEADER_BYTES = 3 + 16 + 16;
+
+    // Wire codes for schema version 1: append only, never reorder
+    private static final SubscriptionEventType[] TYPE_CODES = {
+            SubscriptionEventType.TRIAL_STARTED, SubscriptionEventType.ACTIVATED, SubscriptionEventType.CANCELED,
+            SubscriptionEventType.PAST_DUE, SubscriptionEventType.GRACE_STARTED, SubscriptionEventType.EXPIRED,
+            SubscriptionEventType.REACTIVATED};
+    private static final Plan[] PLAN_CODES = {Plan.FREE, Plan.INDIVIDUAL, Plan.DUO, Plan.FAMILY, Plan.STUDENT};
+    private static final SubscriptionStatus[] STATUS_CODES = {
+            SubscriptionStatus.FREE, SubscriptionStatus.TRIALING, SubscriptionStatus.ACTIVE, SubscriptionStatus.PAST_DUE,
+            SubscriptionStatus.GRACE_PERIOD, SubscriptionStatus.CANCELED, SubscriptionStatus.EXPIRED};
+
+    private static final byte[] TYPE_CODE_BY_ORDINAL = codesByOrdinal(TYPE_CODES, SubscriptionEventType.values().length);
+    private static final byte[] PLAN_CODE_BY_ORDINAL = codesByOrdinal(PLAN_CODES, Plan.values().length);
+    private static final byte[] STATUS_CODE_BY_ORDINAL = codesByOrdinal(STATUS_CODES, SubscriptionStatus.values().length);
+
+    private static final long NULL_INSTANT = Long.MIN_VALUE;
+    private static final byte FLAG_CANCEL_AT_PERIOD_END = 1;
+
+    private interface BodyWriter {
+        void write(ByteBuffer out, Subscription s);
+    }
+
+    private interface BodyReader {
+        void read(ByteBuffer in, Map<String, Object> fields);
+    }
+
+    private record Layout(int bodyBytes, BodyWriter writer, BodyReader reader) {
+    }
+
+    private static final Layout[] LAYOUTS = new Layout[SubscriptionEventType.values().length];
+
+    static {
+        layout(SubscriptionEventType.TRIAL_STARTED, 1 + 1 + 8,
+                (out, s) -> {
+                    out.put(planCode(s.getPlan()));
+                    out.put(statusCode(s.getStatus()));
+                    putInstant(out, s.getTrialEndsAt());
+                },
+                (in, fields) -> {
+                    fields.put("plan", PLAN_CODES[in.get()].name());
+                    fields.put("status", STATUS_CODES[in.get()].name());
+                    fields.put("trialEndsAt", getInstant(in));
+                });
+        layout(SubscriptionEventType.ACTIVATED, 1 + 1,
+                (out, s) -> {
+                    out.put(planCode(s.getPlan()));
+                    out.put(statusCode(s.getStatus()));
+                },
+                (in, fields) -> {
+                    fields.put("plan", PLAN_CODES[in.get()].name());
+                    fields.put("status", STATUS_CODES[in.get()].name());
+                });
+        layout(SubscriptionEventType.CANCELED, 1 + 8,
+                (out, s) -> {
+                    out.put(s.isCancelAtPeriodEnd() ? FLAG_CANCEL_AT_PERIOD_END : 0);
+                    putInstant(out, s.getCanceledAt());
+                },
+                (in, fields) -> {
+                    fields.put("cancelAtPeriodEnd", (in.get() & FLAG_CANCEL_AT_PERIOD_END) != 0);
+                    fields.put("canceledAt", getInstant(in));
+                });
+        layout(SubscriptionEventType.EXPIRED, 1 + 8,
+                (out, s) -> {
+                    out.put(planCode(s.getPlan()));
+                    putInstant(out, s.getCanceledAt());
+                },
+                (in, fields) -> {
+                    fields.put("plan", PLAN_CODES[in.get()].name());
+                    fields.put("expiredAt", getInstant(in));
+                });
+        for (SubscriptionEventType planOnly : new SubscriptionEventType[]{
+                SubscriptionEventType.PAST_DUE, SubscriptionEventType.GRACE_STARTED, SubscriptionEventType.REACTIVATED}) {
+            layout(planOnly, 1,
+                    (out, s) -> out.put(planCode(s.getPlan())),
+                    (in, fields) -> fields.put("plan", PLAN_CODES[in.get()].name()));
+        }
+    }
+
+    private static void layout(SubscriptionEventType type, int bodyBytes, BodyWriter writer, BodyReader reader) {
+        LAYOUTS[type.ordinal()] = new Layout(bodyBytes, writer, reader);
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(SubscriptionEventType type, Subscription s) {
+        Layout layout = LAYOUTS[type.ordinal()];
+        ByteBuffer out = ByteBuffer.wrap(new byte[HEADER_BYTES + layout.bodyBytes()]);
+        out.put(MAGIC).put(SCHEMA_VERSION).put(TYPE_CODE_BY_ORDINAL[type.ordinal()]);
+        putUuid(out, s.getId());
+        putUuid(out, s.getUserId());
+        layout.writer().write(out, s);
+        return out.array();
+    }
+
+    @Override
+    public Map<String, Object> decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        try {
+            if (in.get() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary subscription event");
+            }
+            byte version = in.get();
+            if (version != SCHEMA_VERSION) {
+                throw new IllegalArgumentException("Unsupported event schema version " + version);
+            }
+            SubscriptionEventType type = TYPE_CODES[in.get()];
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("subscriptionId", getUuid(in).toString());
+            fields.put("userId", getUuid(in).toString());
+            LAYOUTS[type.ordinal()].reader().read(in, fields);
+            return fields;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed binary event payload", e);
+        }
+    }
+
+    private static byte planCode(Plan plan) {
+        return PLAN_CODE_BY_ORDINAL[plan.ordinal()];
+    }
+
+    private static byte statusCode(SubscriptionStatus status) {
+        return STATUS_CODE_BY_ORDINAL[status.ordinal()];
+    }
+
+    private static void putUuid(ByteBuffer out, UUID id) {
+        out.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void putInstant(ByteBuffer out, Instant instant) {
+        out.putLong(instant == null ? NULL_INSTANT : ChronoUnit.MICROS.between(Instant.EPOCH, instant));
+    }
+
+    private static String getInstant(ByteBuffer in) {
+        long micros = in.getLong();
+        return micros == NULL_INSTANT ? null : Instant.EPOCH.plus(micros, ChronoUnit.MICROS).toString();
+    }
+
+    private static byte[] codesByOrdinal(Enum<?>[] codes, int enumSize) {
+        if (codes.length != enumSize) {
+            throw new IllegalStateException("Every " + codes[0].getDeclaringClass().getSimpleName()
+                    + " value needs a wire code in BinaryEventCodec");
+        }
+        byte[] byOrdinal = new byte[enumSize];
+        for (int code = 0; code < codes.length; code++) {
+            byOrdinal[codes[code].ordinal()] = (byte) code;
+        }
+        return byOrdinal;
+    }
+}
@@ -0,0 +1,90 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionplatform.subscription.application.EventCodec;
+import com.subscriptionplatform.subscription.application.SubscriptionEventType;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The original outbox format: one JSON object per event, readable by any consumer without a schema.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.codec", havingValue = "json")
+public class JsonEventCodec implements EventCodec {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(SubscriptionEventType type, Subscription s) {
+        try {
+            return objectMapper.writeValueAsBytes(payload(type, s));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox event", e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, MAP_TYPE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON event payload", e);
+        }
+    }
+
+    private static Map<String, Object> payload(SubscriptionEventType type, Subscription s) {
+        return switch (type) {
+            case TRIAL_STARTED -> Map.of(
+                    "subscriptionId", s.getId().toString(),
+                    "userId", s.getUserId().toString(),
+                    "plan", s.getPlan().name(),
+                    "status", s.getStatus().name(),
+                    "trialEndsAt", s.getTrialEndsAt() != null ? s.getTrialEndsAt().toString() : null
+            );
+            case ACTIVATED -> Map.of(
+                    "subscriptionId", s.getId().toString(),
+                    "userId", s.getUserId().toString(),
+                    "plan", s.getPlan().name(),
+                    "status", s.getStatus().name()
+            );
+            case CANCELED -> Map.of(
+                    "subscriptionId", s.getId().toString(),
+                    "userId", s.getUserId().toString(),
+                    "cancelAtPeriodEnd", s.isCancelAtPeriodEnd(),
+                    "canceledAt", s.getCanceledAt() != null ? s.getCanceledAt().toString() : null
+            );
+            case EXPIRED -> Map.of(
+                    "subscriptionId", s.getId().toString(),
+                    "userId", s.getUserId().toString(),
+                    "plan", s.getPlan().name(),
+                    "expiredAt", s.getCanceledAt().toString()
+            );
+            case PAST_DUE, GRACE_STARTED, REACTIVATED -> Map.of(
+                    "subscriptionId", s.getId().toString(),
+                    "userId", s.getUserId().toString(),
+                    "plan", s.getPlan().name()
+            );
+        };
+    }
+}
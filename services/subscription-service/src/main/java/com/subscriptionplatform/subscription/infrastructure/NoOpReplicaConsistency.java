@@ -0,0 +1,28 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.application.ReplicaConsistency;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Used when {@code subscription.read-replicas.enabled=false}; every read already goes to the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "subscription.read-replicas.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpReplicaConsistency implements ReplicaConsistency {
+
+    @Override
+    public Optional<Subscription> readLatest(UUID userId, Supplier<Optional<Subscription>> query) {
+        return query.get();
+    }
+
+    @Override
+    public boolean hasRecentWrite(UUID userId) {
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.application.CachedSubscription;
+import com.subscriptionplatform.subscription.application.SubscriptionCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Used when {@code subscription.cache.enabled=false}; every read goes to Postgres.
+ */
+@Component
+@ConditionalOnProperty(name = "subscription.cache.enabled", havingValue = "false")
+public class NoOpSubscriptionCache implements SubscriptionCache {
+
+    @Override
+    public Optional<CachedSubscription> get(UUID userId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(UUID userId, CachedSubscription entry) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes how far behind the outbox relay is, across all relay slots:
+ * <ul>
+ *   <li>{@code outbox_relay_backlog_events}: unsent rows</li>
+ *   <li>{@code outbox_relay_oldest_unsent_age_seconds}: age of the oldest unsent row, i.e. how stale consumers
+ *       may be; 0 when the backlog is empty</li>
+ * </ul>
+ * The backlog is sampled on a schedule (one scan of the partial unsent index) rather than on every scrape. The
+ * age is computed at scrape time from the sampled creation time, so it keeps growing while the relay is stuck.
+ * Every instance reports the same values; aggregate with {@code max}.
+ */
+@Component
+public class OutboxBacklogMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxBacklogMonitor.class);
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestUnsentMillis = new AtomicLong(EMPTY);
+
+    public OutboxBacklogMonitor(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("outbox_relay_backlog_events", backlog, AtomicLong::get)
+                .description("Unsent outbox events")
+                .register(meterRegistry);
+        Gauge.builder("outbox_relay_oldest_unsent_age_seconds", this, OutboxBacklogMonitor::oldestUnsentAgeSeconds)
+                .description("Age of the oldest unsent outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${outbox.relay.backlog-sample-interval-ms:15000}")
+    public void sampleBacklog() {
+        try {
+            jdbcTemplate.query("SELECT count(*), min(created_at) FROM subscription.outbox_events WHERE sent_at IS NULL",
+                    rs -> {
+                        Timestamp oldest = rs.getTimestamp(2);
+                        backlog.set(rs.getLong(1));
+                        oldestUnsentMillis.set(oldest == null ? EMPTY : oldest.getTime());
+                    });
+        } catch (DataAccessException e) {
+            log.warn("Could not sample outbox backlog, keeping previous values: {}", e.getMessage());
+        }
+    }
+
+    double oldestUnsentAgeSeconds() {
+        long oldest = oldestUnsentMillis.get();
+        if (oldest == EMPTY) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(Instant.ofEpochMilli(oldest), Instant.now()).toMillis() / 1000.0);
+    }
+}
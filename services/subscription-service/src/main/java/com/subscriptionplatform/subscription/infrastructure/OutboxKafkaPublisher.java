@@ -1,44 +1,222 @@
 package com.subscriptionplatform.subscription.infrastructure;
 
+import com.subscriptionplatform.subscription.application.TraceContext;
 import com.subscriptionplatform.subscription.domain.OutboxEvent;
 import com.subscriptionplatform.subscription.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Relays unsent outbox rows to Kafka in bounded batches.
+ * <p>
+ * Only rows in relay slots leased by this instance are read (see {@link OutboxRelayLeaseManager}), so replicas
+ * publish disjoint slices of the outbox and every aggregate is relayed by a single node at a time.
+ * <p>
+ * All records of a batch are handed to the producer without waiting, so they share broker round trips;
+ * per-key ordering is kept by the idempotent producer (see {@code KafkaConfig}). Acks are then collected
+ * in outbox order and every acknowledged row is marked sent with one bulk UPDATE. Once a record fails,
+ * later records with the same topic and key are left unsent so the retry keeps them in order.
+ * <p>
+ * Relaying is normally triggered by {@link OutboxNotificationListener} right after outbox rows commit; the
+ * scheduled run is only a safety net for missed notifications.
+ * <p>
+ * Sends always run on a platform thread: {@code KafkaProducer.send} can wait on producer metadata inside a
+ * {@code synchronized} block for up to {@code max.block.ms}, which would pin the carrier of a virtual thread.
+ * Virtual callers (the scheduler in virtual-thread mode) hand the drain to {@code outbox-relay} and return.
+ * <p>
+ * Metrics: {@code outbox_relay_publish_latency_seconds{topic}} (histogram, outbox commit to broker ack),
+ * {@code outbox_relay_events_total{topic,result}} with result {@code sent}, {@code failed} or {@code held_back}
+ * (skipped behind a failed event with the same key), {@code outbox_relay_batch_size} and
+ * {@code outbox_relay_cycle_duration_seconds} per drain. Backlog size and age come from {@link OutboxBacklogMonitor}.
+ */
 @Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
 public class OutboxKafkaPublisher {
 
+    /** Carries the outbox row's content type so consumers pick the matching codec. */
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+
     private static final Logger log = LoggerFactory.getLogger(OutboxKafkaPublisher.class);
 
     private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxRelayLeaseManager leaseManager;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicBoolean relayRequested = new AtomicBoolean();
+    private final ExecutorService platformRelay = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("outbox-relay").daemon().factory()); // Thread is only started on first use
+    private final Map<String, Timer> publishLatency = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSizes;
+    private final Timer cycleDuration;
 
     public OutboxKafkaPublisher(OutboxEventRepository outboxEventRepository,
-                                KafkaTemplate<String, String> kafkaTemplate) {
+                                OutboxRelayLeaseManager leaseManager,
+                                KafkaTemplate<String, byte[]> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${outbox.relay.batch-size:500}") int batchSize,
+                                @Value("${outbox.relay.send-timeout:10s}") Duration sendTimeout) {
         this.outboxEventRepository = outboxEventRepository;
+        this.leaseManager = leaseManager;
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.batchSizes = DistributionSummary.builder("outbox_relay_batch_size")
+                .description("Unsent events read per relay batch")
+                .register(meterRegistry);
+        this.cycleDuration = Timer.builder("outbox_relay_cycle_duration")
+                .description("Time to drain the outbox once, across all batches")
+                .register(meterRegistry);
     }
 
-    @Scheduled(fixedDelay = 1000)
-    @Transactional
+    /**
+     * Drains the outbox, or asks the thread that is already draining to run once more. Safe to call from the
+     * scheduler and the notification listener at the same time; concurrent requests coalesce into one extra drain.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
     public void publishOutboxEvents() {
-        var unsent = outboxEventRepository.findUnsentEvents();
-        for (OutboxEvent event : unsent) {
+        relayRequested.set(true);
+        if (Thread.currentThread().isVirtual()) {
+            platformRelay.execute(this::drainWhileRequested);
+            return;
+        }
+        drainWhileRequested();
+    }
+
+    private void drainWhileRequested() {
+        while (relayRequested.get() && relayLock.tryLock()) {
+            try {
+                relayRequested.set(false);
+                drain();
+            } finally {
+                relayLock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        long startNanos = System.nanoTime();
+        try {
+            int relayed;
+            do {
+                List<Short> slots = leaseManager.refreshLeases(); // Renew before every batch so long drains keep their lease
+                if (slots.isEmpty()) {
+                    return;
+                }
+                relayed = relayBatch(slots);
+            } while (relayed == batchSize); // Keep draining while the backlog fills whole batches
+        } finally {
+            cycleDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS); // Also lost leases and failures
+        }
+    }
+
+    @PreDestroy
+    void releaseLeases() {
+        platformRelay.shutdownNow();
+        leaseManager.releaseAll();
+    }
+
+    /**
+     * Sends one page of unsent events from the given slots and marks the acknowledged ones as sent.
+     *
+     * @return number of events marked sent; less than the batch size when the backlog is drained or a send failed
+     */
+    int relayBatch(List<Short> slots) {
+        List<OutboxEvent> batch = outboxEventRepository.findUnsentEvents(slots, batchSize);
+        batchSizes.record(batch.size());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> acks = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            ProducerRecord<String, byte[]> record =
+                    new ProducerRecord<>(event.getTopic(), event.getAggregateId(), event.getPayload());
+            record.headers().add(CONTENT_TYPE_HEADER, event.getContentType().getBytes(StandardCharsets.UTF_8));
+            if (event.getTraceparent() != null) {
+                record.headers().add(TraceContext.TRACEPARENT_HEADER, event.getTraceparent().getBytes(StandardCharsets.UTF_8));
+            }
+            CompletableFuture<SendResult<String, byte[]>> ack = kafkaTemplate.send(record);
+            ack.thenRun(() -> recordPublishLatency(event)); // On the producer's I/O thread, at ack time
+            acks.add(ack);
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<UUID> sentIds = new ArrayList<>(batch.size());
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            String orderingKey = event.getTopic() + '|' + event.getAggregateId();
+            if (failedKeys.contains(orderingKey)) {
+                countEvents(event.getTopic(), "held_back");
+                continue; // An earlier event for this key failed; resend both next cycle to keep order
+            }
             try {
-                kafkaTemplate.send(event.getTopic(), event.getAggregateId(), event.getPayload()).get();
-                event.setSentAt(Instant.now());
-                outboxEventRepository.save(event);
-                log.debug("Published outbox event id={} to topic={}", event.getId(), event.getTopic());
-            } catch (Exception e) {
-                log.warn("Failed to publish outbox event id={}: {}", event.getId(), e.getMessage());
-                break; // Retry next cycle
+                acks.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sentIds.add(event.getId());
+                countEvents(event.getTopic(), "sent");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                failedKeys.add(orderingKey);
+                countEvents(event.getTopic(), "failed");
+                log.warn("Failed to publish outbox event id={} topic={}: {}", event.getId(), event.getTopic(), e.getMessage());
             }
         }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, batch.get(0).getCreatedAt(), Instant.now());
+        }
+        log.debug("Relayed outbox batch size={} sent={} failedKeys={}", batch.size(), sentIds.size(), failedKeys.size());
+        return failedKeys.isEmpty() ? sentIds.size() : 0; // Retry next cycle
+    }
+
+    private void recordPublishLatency(OutboxEvent event) {
+        publishLatency.computeIfAbsent(event.getTopic(), topic -> Timer.builder("outbox_relay_publish_latency")
+                        .description("Time from outbox commit to broker acknowledgement")
+                        .tag("topic", topic)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofMinutes(10))
+                        .register(meterRegistry))
+                .record(Duration.between(event.getCreatedAt(), Instant.now()));
+    }
+
+    private void countEvents(String topic, String result) {
+        meterRegistry.counter("outbox_relay_events_total", "topic", topic, "result", result).increment();
     }
 }
@@ -0,0 +1,117 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wakes the outbox relay when outbox rows commit.
+ * <p>
+ * Holds one dedicated connection (outside the Hikari pool) that {@code LISTEN}s on the channel fed by the
+ * {@code trg_outbox_events_notify} trigger and runs the relay for every batch of notifications. After a
+ * reconnect the relay is run once to pick up anything committed while the listener was down.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = {"enabled", "listen.enabled"}, havingValue = "true", matchIfMissing = true)
+public class OutboxNotificationListener implements SmartLifecycle {
+
+    static final String CHANNEL = "subscription_outbox";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxNotificationListener.class);
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final OutboxKafkaPublisher relay;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    public OutboxNotificationListener(OutboxKafkaPublisher relay,
+                                      @Value("${spring.datasource.url}") String url,
+                                      @Value("${spring.datasource.username}") String username,
+                                      @Value("${spring.datasource.password}") String password) {
+        this.relay = relay;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // Platform thread even in virtual-thread mode: it blocks in the driver for its whole life and calls the relay
+        listenerThread = Thread.ofPlatform().name("outbox-listener").daemon().start(this::listenLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        long backoffMs = 1_000;
+        while (running) {
+            try {
+                connection = DriverManager.getConnection(url, username, password);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for outbox notifications on channel={}", CHANNEL);
+                backoffMs = 1_000;
+                relay.publishOutboxEvents(); // Catch up on rows committed while we were not listening
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        relay.publishOutboxEvents();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Outbox notification listener failed, reconnecting in {} ms: {}", backoffMs, e.getMessage());
+                    LockSupport.parkNanos(backoffMs * 1_000_000);
+                    backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+                }
+            } finally {
+                closeQuietly();
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ignored) {
+                // Shutting down or already broken
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Keeps the daily {@code outbox_events} partitions rolling.
+ * <p>
+ * Upcoming days are created ahead of time so inserts never fall into the default partition, and days that ended
+ * more than the retention window ago are dropped once none of their rows is waiting for the relay. Dropping a
+ * partition removes its heap and index pages at once, without the DELETE and vacuum work of purging row by row.
+ * Only one replica does the work per run; the others skip while the advisory lock is held.
+ */
+@Component
+public class OutboxPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPartitionMaintenance.class);
+    private static final String PARTITION_PREFIX = "outbox_events_p";
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int precreateDays;
+    private final int retentionDays;
+
+    public OutboxPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${outbox.partitions.precreate-days:7}") int precreateDays,
+                                      @Value("${outbox.partitions.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.precreateDays = precreateDays;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${outbox.partitions.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(hashtext('subscription.outbox_partition_maintenance'))", Boolean.class);
+            if (!Boolean.TRUE.equals(locked)) {
+                return; // Another replica is on it
+            }
+            // Attaching or dropping a partition locks the parent; give up rather than stall relay and API traffic
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '2s'");
+            createUpcomingPartitions(today);
+            dropExpiredPartitions(today);
+            warnIfDefaultPartitionUsed();
+        });
+    }
+
+    void createUpcomingPartitions(LocalDate today) {
+        for (int i = 0; i <= precreateDays; i++) {
+            LocalDate day = today.plusDays(i);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS subscription." + partitionName(day)
+                    + " PARTITION OF subscription.outbox_events FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('"
+                    + day.plusDays(1) + " 00:00:00+00')");
+        }
+    }
+
+    void dropExpiredPartitions(LocalDate today) {
+        LocalDate cutoff = today.minusDays(retentionDays);
+        for (String partition : listPartitions()) {
+            LocalDate day = partitionDay(partition);
+            if (day == null || day.plusDays(1).isAfter(cutoff)) {
+                continue;
+            }
+            Boolean hasUnsent = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM subscription." + partition + " WHERE sent_at IS NULL)", Boolean.class);
+            if (Boolean.TRUE.equals(hasUnsent)) {
+                log.warn("Keeping outbox partition {} past retention: it still has unsent events", partition);
+                continue;
+            }
+            jdbcTemplate.execute("DROP TABLE subscription." + partition);
+            log.info("Dropped outbox partition {}", partition);
+        }
+    }
+
+    private void warnIfDefaultPartitionUsed() {
+        Boolean used = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM subscription.outbox_events_default)", Boolean.class);
+        if (Boolean.TRUE.equals(used)) {
+            log.warn("Outbox rows landed in outbox_events_default; daily partitions were missing when they were written");
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE n.nspname = 'subscription' AND p.relname = 'outbox_events'
+                ORDER BY c.relname
+                """, String.class);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_DAY.format(day);
+    }
+
+    /** Day covered by a daily partition, or {@code null} for partitions outside the naming scheme. */
+    static LocalDate partitionDay(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_DAY);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hands out disjoint outbox relay slots to the running relay instances.
+ * <p>
+ * Each instance heartbeats into {@code outbox_relay_nodes}, renews the slot leases it already owns and then
+ * grows or shrinks its holding towards a fair share of {@link #SLOT_COUNT} slots. Free or expired slots are
+ * claimed with {@code FOR UPDATE SKIP LOCKED}, so concurrent nodes never wait on each other and never claim the
+ * same slot. Slots of a node that stops renewing become claimable once its lease times out.
+ */
+@Component
+public class OutboxRelayLeaseManager {
+
+    /** Must match the modulus of the {@code relay_slot} generated column. */
+    public static final int SLOT_COUNT = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayLeaseManager.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final long leaseTimeoutMs;
+
+    public OutboxRelayLeaseManager(JdbcTemplate jdbcTemplate,
+                                   @Value("${outbox.relay.node-id:}") String nodeId,
+                                   @Value("${outbox.relay.lease-timeout:30s}") Duration leaseTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseTimeoutMs = leaseTimeout.toMillis();
+    }
+
+    /**
+     * Heartbeats, renews owned leases and rebalances towards this node's fair share.
+     *
+     * @return slots this node may relay until the next refresh, in ascending order
+     */
+    public List<Short> refreshLeases() {
+        jdbcTemplate.update("""
+                INSERT INTO subscription.outbox_relay_nodes (node_id, heartbeat_at) VALUES (?, now())
+                ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()
+                """, nodeId);
+        jdbcTemplate.update("""
+                DELETE FROM subscription.outbox_relay_nodes
+                WHERE heartbeat_at < now() - ? * interval '1 millisecond'
+                """, leaseTimeoutMs * 10);
+
+        List<Short> owned = new ArrayList<>(jdbcTemplate.queryForList("""
+                UPDATE subscription.outbox_relay_leases
+                SET lease_until = now() + ? * interval '1 millisecond'
+                WHERE owner = ?
+                RETURNING slot
+                """, Short.class, leaseTimeoutMs, nodeId));
+        owned.sort(null);
+
+        Integer liveNodes = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM subscription.outbox_relay_nodes
+                WHERE heartbeat_at > now() - ? * interval '1 millisecond'
+                """, Integer.class, leaseTimeoutMs);
+        int fairShare = Math.ceilDiv(SLOT_COUNT, Math.max(1, liveNodes == null ? 1 : liveNodes));
+
+        if (owned.size() > fairShare) {
+            List<Short> surplus = owned.subList(fairShare, owned.size());
+            release(surplus);
+            log.debug("Outbox relay node={} released {} slots to rebalance", nodeId, surplus.size());
+            owned = new ArrayList<>(owned.subList(0, fairShare));
+        } else if (owned.size() < fairShare) {
+            List<Short> claimed = jdbcTemplate.queryForList("""
+                    UPDATE subscription.outbox_relay_leases
+                    SET owner = ?, lease_until = now() + ? * interval '1 millisecond'
+                    WHERE slot IN (
+                        SELECT slot FROM subscription.outbox_relay_leases
+                        WHERE owner IS NULL OR lease_until < now()
+                        ORDER BY slot
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED)
+                    RETURNING slot
+                    """, Short.class, nodeId, leaseTimeoutMs, fairShare - owned.size());
+            if (!claimed.isEmpty()) {
+                log.debug("Outbox relay node={} claimed {} slots", nodeId, claimed.size());
+                owned.addAll(claimed);
+                owned.sort(null);
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Gives up every slot and deregisters this node so other instances take over without waiting for the timeout.
+     */
+    public void releaseAll() {
+        jdbcTemplate.update("""
+                UPDATE subscription.outbox_relay_leases SET owner = NULL, lease_until = NULL WHERE owner = ?
+                """, nodeId);
+        jdbcTemplate.update("DELETE FROM subscription.outbox_relay_nodes WHERE node_id = ?", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void release(List<Short> slots) {
+        jdbcTemplate.update("""
+                UPDATE subscription.outbox_relay_leases SET owner = NULL, lease_until = NULL
+                WHERE owner = ? AND slot = ANY (?)
+                """, ps -> {
+            ps.setString(1, nodeId);
+            ps.setArray(2, ps.getConnection().createArrayOf("smallint", slots.toArray()));
+        });
+    }
+
+    private static String defaultNodeId() {
+        String host = System.getenv("HOSTNAME");
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return host == null || host.isBlank() ? "relay-" + suffix : host + "-" + suffix;
+    }
+}
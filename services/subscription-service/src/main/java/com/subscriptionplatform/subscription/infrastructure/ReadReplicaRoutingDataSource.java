@@ -0,0 +1,73 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica pools, round robin, and everything else (writes,
+ * reads outside a transaction, Flyway, Hibernate bootstrap) to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, after the transaction manager asked for a
+ * connection, so this must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers the lookup to the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final List<HikariDataSource> replicas;
+    private final String[] replicaKeys;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+        this.replicaKeys = replicas.stream().map(HikariDataSource::getPoolName).toArray(String[]::new);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getPoolName(), replica));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs {@code read} with every connection it opens taken from the primary, even inside a read-only
+     * transaction. The transaction must start inside {@code read}: a connection already handed out keeps its pool.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean outer = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (outer == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || FORCE_PRIMARY.get() != null) {
+            return PRIMARY;
+        }
+        return replicaKeys[Math.floorMod(next.getAndIncrement(), replicaKeys.length)];
+    }
+
+    /** Closes the replica pools; the primary is a bean of its own and closed by the container. */
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,99 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.application.CachedSubscription;
+import com.subscriptionplatform.subscription.application.ReplicaConsistency;
+import com.subscriptionplatform.subscription.application.SubscriptionChangedEvent;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes on top of replica routing. After each commit the user's subscription id and version are
+ * remembered for {@code read-your-writes-window}, which should exceed the worst replica lag you tolerate:
+ * <ul>
+ *   <li>{@code version}: read from a replica, and re-read from the primary only if the replica returned an older
+ *       version or an older subscription than the one committed (compared as in {@link CachedSubscription#supersedes})</li>
+ *   <li>{@code window}: send the user's reads straight to the primary until the window ends</li>
+ *   <li>{@code none}: always read from a replica</li>
+ * </ul>
+ * Only writes made through this instance are known; a user whose requests move between instances can still
+ * read behind their own write until the replica catches up.
+ */
+@Component
+@ConditionalOnProperty(name = "subscription.read-replicas.enabled", havingValue = "true")
+public class ReadYourWritesReplicaConsistency implements ReplicaConsistency {
+
+    public enum StalenessPolicy { VERSION, WINDOW, NONE }
+
+    private static final long MAX_TRACKED_USERS = 100_000;
+
+    private final StalenessPolicy policy;
+    private final Cache<UUID, CachedSubscription> recentWrites;
+    private final Counter fresh;
+    private final Counter stale;
+    private final Counter primary;
+
+    public ReadYourWritesReplicaConsistency(MeterRegistry meterRegistry,
+                                            @Value("${subscription.read-replicas.staleness-policy:version}") StalenessPolicy policy,
+                                            @Value("${subscription.read-replicas.read-your-writes-window:10s}") Duration window) {
+        this.policy = policy;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_USERS)
+                .expireAfterWrite(window)
+                .build();
+        this.fresh = meterRegistry.counter("subscriptions_read_your_writes_total", "outcome", "replica_fresh");
+        this.stale = meterRegistry.counter("subscriptions_read_your_writes_total", "outcome", "replica_stale");
+        this.primary = meterRegistry.counter("subscriptions_read_your_writes_total", "outcome", "primary");
+    }
+
+    @Override
+    public Optional<Subscription> readLatest(UUID userId, Supplier<Optional<Subscription>> query) {
+        CachedSubscription ownWrite = recentWrites.getIfPresent(userId);
+        if (ownWrite == null) {
+            return query.get();
+        }
+        if (policy == StalenessPolicy.WINDOW) {
+            primary.increment();
+            return ReadReplicaRoutingDataSource.onPrimary(query);
+        }
+        Optional<Subscription> replica = query.get();
+        if (replica.isPresent() && snapshot(replica.get()).supersedes(ownWrite)) {
+            fresh.increment();
+            return replica;
+        }
+        stale.increment();
+        return ReadReplicaRoutingDataSource.onPrimary(query);
+    }
+
+    @Override
+    public boolean hasRecentWrite(UUID userId) {
+        return recentWrites.getIfPresent(userId) != null;
+    }
+
+    /** Runs after commit, so the entity carries the version readers will have to catch up with. */
+    @TransactionalEventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        if (policy == StalenessPolicy.NONE) {
+            return;
+        }
+        CachedSubscription written = snapshot(event.subscription());
+        recentWrites.asMap().merge(written.response().userId(), written,
+                (current, next) -> next.supersedes(current) ? next : current);
+    }
+
+    private static CachedSubscription snapshot(Subscription s) {
+        return new CachedSubscription(SubscriptionResponse.from(s), s.getVersion());
+    }
+}
@@ -0,0 +1,50 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subscribes {@link TwoTierSubscriptionCache} to near-cache invalidations from other instances.
+ * <p>
+ * The container is started from a scheduled check rather than at context startup, so the service boots and
+ * serves from Postgres while Redis is unreachable. Until the subscription is up, near entries rely on their TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "subscription.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SubscriptionCacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionCacheInvalidationListener.class);
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    public SubscriptionCacheInvalidationListener(RedisConnectionFactory connectionFactory, TwoTierSubscriptionCache cache) {
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cache, new ChannelTopic(TwoTierSubscriptionCache.INVALIDATION_CHANNEL));
+        container.afterPropertiesSet();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${subscription.cache.invalidation.retry-interval-ms:30000}")
+    public void ensureSubscribed() {
+        if (container.isRunning()) {
+            return; // Once subscribed, the container recovers from connection loss itself
+        }
+        try {
+            container.start();
+            log.info("Subscribed to subscription cache invalidations");
+        } catch (RuntimeException e) {
+            log.warn("Cannot subscribe to subscription cache invalidations, retrying later: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        container.destroy();
+    }
+}
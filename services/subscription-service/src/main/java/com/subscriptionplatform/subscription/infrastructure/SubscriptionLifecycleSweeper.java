@@ -0,0 +1,239 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.application.OutboxPublisher;
+import com.subscriptionplatform.subscription.application.SubscriptionChangedEvent;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies time-driven transitions nothing else triggers: trials that ended without payment expire, and
+ * cancellations scheduled with {@code cancel(atPeriodEnd=true)} take effect once the period is over.
+ * <p>
+ * Due rows are found with a keyset scan over partial indexes (see V5__subscription_lifecycle_sweep_indexes.sql),
+ * one page of ids at a time. Each page becomes a chunk processed in its own short transaction on a small pool:
+ * rows are locked with FOR UPDATE SKIP LOCKED, re-checked, transitioned through the domain model and written
+ * together with their outbox events in JDBC batches. Rows held by a concurrent request are skipped and picked
+ * up by the next sweep, so the sweeper never waits on user traffic and replicas can sweep at the same time.
+ */
+@Component
+@ConditionalOnProperty(name = "subscription.lifecycle-sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class SubscriptionLifecycleSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionLifecycleSweeper.class);
+
+    enum Sweep {
+        EXPIRE_TRIAL("expire_trial", "trial_ends_at",
+                "status = 'TRIALING' AND NOT cancel_at_period_end"),
+        CANCEL_AT_PERIOD_END("cancel_at_period_end", "current_period_end",
+                "cancel_at_period_end AND status NOT IN ('CANCELED', 'EXPIRED')");
+
+        final String action;
+        final String dueColumn;
+        final String predicate;
+
+        Sweep(String action, String dueColumn, String predicate) {
+            this.action = action;
+            this.dueColumn = dueColumn;
+            this.predicate = predicate;
+        }
+
+        /** Same condition as {@link #predicate}, checked again after the row is locked. */
+        boolean isDue(Subscription s, Instant cutoff) {
+            return switch (this) {
+                case EXPIRE_TRIAL -> s.getStatus() == SubscriptionStatus.TRIALING && !s.isCancelAtPeriodEnd()
+                        && s.getTrialEndsAt() != null && !s.getTrialEndsAt().isAfter(cutoff);
+                case CANCEL_AT_PERIOD_END -> s.isCancelAtPeriodEnd()
+                        && s.getStatus() != SubscriptionStatus.CANCELED && s.getStatus() != SubscriptionStatus.EXPIRED
+                        && s.getCurrentPeriodEnd() != null && !s.getCurrentPeriodEnd().isAfter(cutoff);
+            };
+        }
+    }
+
+    record SweepResult(long transitioned, long skipped, long failedChunks) {
+    }
+
+    private record DueRow(UUID id, Instant dueAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SubscriptionRepository subscriptionRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService chunkExecutor;
+    private final Map<Sweep, AtomicLong> lagSeconds = new EnumMap<>(Sweep.class);
+
+    public SubscriptionLifecycleSweeper(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        SubscriptionRepository subscriptionRepository,
+                                        OutboxPublisher outboxPublisher,
+                                        ApplicationEventPublisher eventPublisher,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${subscription.lifecycle-sweeper.chunk-size:500}") int chunkSize,
+                                        @Value("${subscription.lifecycle-sweeper.parallelism:4}") int parallelism,
+                                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.subscriptionRepository = subscriptionRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        // Fixed size in both modes: parallelism bounds pooled connections, not threads
+        this.chunkExecutor = Executors.newFixedThreadPool(parallelism, virtualThreads
+                ? Thread.ofVirtual().name("lifecycle-sweep-", 0).factory()
+                : Thread.ofPlatform().name("lifecycle-sweep-", 0).daemon().factory());
+        for (Sweep sweep : Sweep.values()) {
+            AtomicLong lag = new AtomicLong();
+            meterRegistry.gauge("subscriptions_lifecycle_sweep_lag_seconds", Tags.of("action", sweep.action), lag);
+            lagSeconds.put(sweep, lag);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${subscription.lifecycle-sweeper.interval-ms:60000}",
+            fixedDelayString = "${subscription.lifecycle-sweeper.interval-ms:60000}")
+    public void sweepDueSubscriptions() {
+        Instant cutoff = Instant.now();
+        // Scheduled cancellations first: a trial canceled at period end should end CANCELED, not EXPIRED
+        sweep(Sweep.CANCEL_AT_PERIOD_END, cutoff);
+        sweep(Sweep.EXPIRE_TRIAL, cutoff);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        chunkExecutor.shutdownNow();
+    }
+
+    /**
+     * Transitions every row of the given sweep that was due at {@code cutoff}. Pages are read on the calling
+     * thread while at most {@code 2 * parallelism} chunks are queued or running, which bounds memory.
+     */
+    SweepResult sweep(Sweep sweep, Instant cutoff) {
+        long startNanos = System.nanoTime();
+        AtomicLong transitioned = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        AtomicLong failedChunks = new AtomicLong();
+        int maxInFlight = parallelism * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        DueRow after = null;
+        Instant oldestDue = null;
+        try {
+            while (true) {
+                List<DueRow> page = nextPage(sweep, cutoff, after);
+                if (page.isEmpty()) {
+                    break;
+                }
+                if (oldestDue == null) {
+                    oldestDue = page.get(0).dueAt();
+                }
+                after = page.get(page.size() - 1);
+                List<UUID> ids = page.stream().map(DueRow::id).toList();
+
+                inFlight.acquire();
+                chunkExecutor.execute(() -> {
+                    try {
+                        int applied = processChunk(sweep, ids, cutoff);
+                        transitioned.addAndGet(applied);
+                        skipped.addAndGet(ids.size() - applied);
+                    } catch (RuntimeException e) {
+                        failedChunks.incrementAndGet(); // Rows stay due and are retried by the next sweep
+                        log.warn("Lifecycle sweep chunk failed action={} size={}: {}", sweep.action, ids.size(), e.toString());
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                if (page.size() < chunkSize) {
+                    break;
+                }
+            }
+            inFlight.acquire(maxInFlight); // Wait for the last chunks
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        lagSeconds.get(sweep).set(oldestDue == null ? 0 : Duration.between(oldestDue, cutoff).toSeconds());
+        Timer.builder("subscriptions_lifecycle_sweep_duration").tag("action", sweep.action).register(meterRegistry).record(elapsed);
+        meterRegistry.counter("subscriptions_lifecycle_sweep_transitioned_total", "action", sweep.action).increment(transitioned.get());
+        meterRegistry.counter("subscriptions_lifecycle_sweep_skipped_total", "action", sweep.action).increment(skipped.get());
+
+        SweepResult result = new SweepResult(transitioned.get(), skipped.get(), failedChunks.get());
+        if (transitioned.get() > 0 || failedChunks.get() > 0) {
+            log.info("Lifecycle sweep action={} transitioned={} skipped={} failedChunks={} elapsedMs={} perSecond={}",
+                    sweep.action, result.transitioned(), result.skipped(), result.failedChunks(), elapsed.toMillis(),
+                    elapsed.toMillis() == 0 ? result.transitioned() : result.transitioned() * 1000 / elapsed.toMillis());
+        }
+        return result;
+    }
+
+    private List<DueRow> nextPage(Sweep sweep, Instant cutoff, DueRow after) {
+        String sql = "SELECT id, " + sweep.dueColumn + " AS due_at FROM subscription.subscriptions WHERE "
+                + sweep.predicate + " AND " + sweep.dueColumn + " <= ?"
+                + (after == null ? "" : " AND (" + sweep.dueColumn + ", id) > (?, ?)")
+                + " ORDER BY " + sweep.dueColumn + ", id LIMIT ?";
+        Object[] args = after == null
+                ? new Object[]{Timestamp.from(cutoff), chunkSize}
+                : new Object[]{Timestamp.from(cutoff), Timestamp.from(after.dueAt()), after.id(), chunkSize};
+        return jdbcTemplate.query(sql,
+                (rs, i) -> new DueRow(rs.getObject("id", UUID.class), rs.getTimestamp("due_at").toInstant()), args);
+    }
+
+    /** @return number of rows transitioned; the rest were locked elsewhere or no longer due */
+    int processChunk(Sweep sweep, List<UUID> ids, Instant cutoff) {
+        Integer applied = transactionTemplate.execute(tx -> {
+            int count = 0;
+            for (Subscription s : subscriptionRepository.findAllByIdForUpdateSkipLocked(ids)) {
+                if (!sweep.isDue(s, cutoff)) {
+                    continue;
+                }
+                SubscriptionStatus from = s.getStatus();
+                if (sweep == Sweep.EXPIRE_TRIAL) {
+                    s.expire();
+                    outboxPublisher.publishExpired(s);
+                } else {
+                    s.completeScheduledCancellation();
+                    outboxPublisher.publishCanceled(s);
+                }
+                meterRegistry.counter("subscriptions_state_transition_total",
+                        "from", from.name(),
+                        "to", s.getStatus().name()).increment();
+                eventPublisher.publishEvent(new SubscriptionChangedEvent(s));
+                count++;
+            }
+            return count; // Dirty rows and outbox inserts are flushed in JDBC batches at commit
+        });
+        return applied == null ? 0 : applied;
+    }
+}
@@ -0,0 +1,185 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.application.CachedSubscription;
+import com.subscriptionplatform.subscription.application.SubscriptionCache;
+import com.subscriptionplatform.subscription.application.SubscriptionChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Near (Caffeine) plus shared (Redis) cache for {@code GET /subscriptions/me}.
+ * <p>
+ * Committed changes are written through to both tiers, and other instances drop their near entry through a
+ * Redis pub/sub message. Every write is guarded by {@link CachedSubscription#supersedes}, in process and in a
+ * Lua script on Redis, so a slow read-through cannot overwrite a newer committed version.
+ * <p>
+ * Redis failures only cost a database read: they are counted and logged, never propagated.
+ */
+@Component
+@ConditionalOnProperty(name = "subscription.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class TwoTierSubscriptionCache implements SubscriptionCache, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "subscription:cache:invalidate";
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierSubscriptionCache.class);
+    private static final String KEY_PREFIX = "subscription:me:";
+
+    // Fields: i = subscription id, c = created_at epoch micros, v = entity version, d = response JSON
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+            local cur = redis.call('HMGET', KEYS[1], 'i', 'c', 'v')
+            if cur[1] then
+              if cur[1] == ARGV[1] then
+                if tonumber(cur[3]) > tonumber(ARGV[3]) then return 0 end
+              elseif tonumber(cur[2]) >= tonumber(ARGV[2]) then
+                return 0
+              end
+            end
+            redis.call('HSET', KEYS[1], 'i', ARGV[1], 'c', ARGV[2], 'v', ARGV[3], 'd', ARGV[4])
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            return 1
+            """, Long.class);
+
+    private final Cache<UUID, CachedSubscription> nearCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public TwoTierSubscriptionCache(StringRedisTemplate redisTemplate,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${subscription.cache.near.maximum-size:100000}") long nearMaximumSize,
+                                    @Value("${subscription.cache.near.ttl:30s}") Duration nearTtl,
+                                    @Value("${subscription.cache.redis.ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaximumSize)
+                .expireAfterWrite(nearTtl) // Bounds staleness if an invalidation message is lost
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "subscriptions.near");
+        this.redisHits = meterRegistry.counter("cache.gets", "cache", "subscriptions.redis", "result", "hit");
+        this.redisMisses = meterRegistry.counter("cache.gets", "cache", "subscriptions.redis", "result", "miss");
+        this.redisErrors = meterRegistry.counter("cache.errors", "cache", "subscriptions.redis");
+    }
+
+    @Override
+    public Optional<CachedSubscription> get(UUID userId) {
+        CachedSubscription near = nearCache.getIfPresent(userId);
+        if (near != null) {
+            return Optional.of(near);
+        }
+        CachedSubscription shared = readRedis(userId);
+        if (shared == null) {
+            redisMisses.increment();
+            return Optional.empty();
+        }
+        redisHits.increment();
+        putNear(userId, shared);
+        return Optional.of(shared);
+    }
+
+    @Override
+    public void put(UUID userId, CachedSubscription entry) {
+        putNear(userId, entry);
+        writeRedis(userId, entry);
+    }
+
+    /**
+     * Writes the committed state through and tells other instances to drop their near entry. Runs after commit
+     * so the entity carries its flushed version and readers never see uncommitted state.
+     */
+    @TransactionalEventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        CachedSubscription entry = new CachedSubscription(
+                SubscriptionResponse.from(event.subscription()), event.subscription().getVersion());
+        UUID userId = entry.response().userId();
+        put(userId, entry);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + ' ' + userId);
+        } catch (RuntimeException e) {
+            redisFailed("publish invalidation", e);
+        }
+    }
+
+    /** Receives invalidations from other instances; the shared tier already holds the new entry. */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf(' ');
+        if (sep < 0 || body.substring(0, sep).equals(instanceId)) {
+            return;
+        }
+        try {
+            nearCache.invalidate(UUID.fromString(body.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+        }
+    }
+
+    private void putNear(UUID userId, CachedSubscription entry) {
+        nearCache.asMap().compute(userId, (key, current) -> entry.supersedes(current) ? entry : current);
+    }
+
+    private CachedSubscription readRedis(UUID userId) {
+        try {
+            List<Object> fields = redisTemplate.opsForHash().multiGet(KEY_PREFIX + userId, List.of("v", "d"));
+            Object version = fields.get(0);
+            Object json = fields.get(1);
+            if (version == null || json == null) {
+                return null;
+            }
+            return new CachedSubscription(
+                    objectMapper.readValue((String) json, SubscriptionResponse.class), Long.parseLong((String) version));
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisFailed("read", e);
+            return null;
+        }
+    }
+
+    private void writeRedis(UUID userId, CachedSubscription entry) {
+        try {
+            redisTemplate.execute(PUT_IF_NEWER, List.of(KEY_PREFIX + userId),
+                    entry.response().id().toString(),
+                    Long.toString(entry.createdAtMicros()),
+                    Long.toString(entry.version()),
+                    objectMapper.writeValueAsString(entry.response()),
+                    Long.toString(redisTtl.toMillis()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisFailed("write", e);
+        }
+    }
+
+    private void redisFailed(String operation, Exception e) {
+        redisErrors.increment();
+        log.debug("Subscription cache Redis {} failed, falling back: {}", operation, e.getMessage());
+    }
+}
@@ -1,15 +1,33 @@
 package com.subscriptionplatform.subscription.repository;
 
 import com.subscriptionplatform.subscription.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
 
-    @Query("SELECT e FROM OutboxEvent e WHERE e.sentAt IS NULL ORDER BY e.createdAt ASC")
-    List<OutboxEvent> findUnsentEvents();
+    @Query("SELECT e FROM OutboxEvent e WHERE e.sentAt IS NULL AND e.relaySlot IN :slots ORDER BY e.createdAt ASC")
+    List<OutboxEvent> findUnsentEvents(@Param("slots") Collection<Short> slots, Pageable pageable);
+
+    default List<OutboxEvent> findUnsentEvents(Collection<Short> slots, int limit) {
+        return findUnsentEvents(slots, Pageable.ofSize(limit));
+    }
+
+    /**
+     * Marks a whole relay batch as sent with a single UPDATE instead of one per row.
+     * {@code createdFrom} is the oldest {@code createdAt} in the batch and lets Postgres skip older partitions.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt WHERE e.id IN :ids AND e.createdAt >= :createdFrom")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("createdFrom") Instant createdFrom, @Param("sentAt") Instant sentAt);
 }
@@ -2,13 +2,18 @@ package com.subscriptionplatform.subscription.repository;
 
 import com.subscriptionplatform.subscription.domain.Subscription;
 import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.domain.SubscriptionVersion;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,14 +23,57 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, UUID
     @Query("SELECT s FROM Subscription s WHERE s.userId = :userId AND s.status NOT IN ('CANCELED', 'EXPIRED')")
     Optional<Subscription> findActiveByUserId(@Param("userId") UUID userId);
 
-    @Query("SELECT s FROM Subscription s WHERE s.userId = :userId ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Subscription s WHERE s.userId IN :userIds AND s.status NOT IN ('CANCELED', 'EXPIRED')")
+    List<Subscription> findActiveByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Read-only when called outside a transaction, so it may be served by a read replica; inside a write
+     * transaction it joins that transaction and reads from the primary.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT s FROM Subscription s WHERE s.userId = :userId ORDER BY s.createdAt DESC, s.id DESC")
     List<Subscription> findLatestByUserId(@Param("userId") UUID userId, Pageable pageable);
 
     default Optional<Subscription> findLatestByUserId(UUID userId) {
         return findLatestByUserId(userId, Pageable.ofSize(1)).stream().findFirst();
     }
 
+    /** Id and version of the user's latest subscription, without loading the entity; read-only like the above. */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.subscriptionplatform.subscription.domain.SubscriptionVersion(s.id, s.version)
+            FROM Subscription s WHERE s.userId = :userId ORDER BY s.createdAt DESC, s.id DESC
+            """)
+    List<SubscriptionVersion> findLatestVersionByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    default Optional<SubscriptionVersion> findLatestVersionByUserId(UUID userId) {
+        return findLatestVersionByUserId(userId, Pageable.ofSize(1)).stream().findFirst();
+    }
+
+    /**
+     * Latest subscription of each given user in one query, projected so no entity enters the persistence context.
+     * Ties on creation time go to the higher (time-ordered) id, as in {@link #findLatestByUserId}. Users without a
+     * subscription are absent from the result.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.subscriptionplatform.subscription.repository.SubscriptionSummary(
+                s.id, s.userId, s.plan, s.status, s.trialEndsAt, s.currentPeriodStart, s.currentPeriodEnd,
+                s.cancelAtPeriodEnd, s.canceledAt, s.createdAt)
+            FROM Subscription s
+            WHERE s.userId IN :userIds
+              AND NOT EXISTS (SELECT 1 FROM Subscription l WHERE l.userId = s.userId
+                              AND (l.createdAt > s.createdAt OR (l.createdAt = s.createdAt AND l.id > s.id)))
+            """)
+    List<SubscriptionSummary> findLatestSummariesByUserIds(@Param("userIds") Collection<UUID> userIds);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Subscription s WHERE s.id = :id")
     Optional<Subscription> findByIdForUpdate(@Param("id") UUID id);
+
+    /** Locks the given rows, leaving out any that another transaction holds (FOR UPDATE SKIP LOCKED). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM Subscription s WHERE s.id IN :ids")
+    List<Subscription> findAllByIdForUpdateSkipLocked(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,22 @@
+package com.subscriptionplatform.subscription.repository;
+
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Read-only projection of a subscription row, selected without loading the entity. */
+public record SubscriptionSummary(
+        UUID id,
+        UUID userId,
+        Plan plan,
+        SubscriptionStatus status,
+        Instant trialEndsAt,
+        Instant currentPeriodStart,
+        Instant currentPeriodEnd,
+        boolean cancelAtPeriodEnd,
+        Instant canceledAt,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,24 @@
+-- Multi-node outbox relay.
+-- Every outbox row hashes its aggregate_id into one of 64 relay slots. A relay instance only publishes rows of
+-- slots it currently leases, so all events of an aggregate are sent by one node at a time and stay in order.
+ALTER TABLE subscription.outbox_events
+    ADD COLUMN relay_slot SMALLINT
+        GENERATED ALWAYS AS ((hashtext(COALESCE(aggregate_id, '')) & 2147483647) % 64) STORED;
+
+CREATE INDEX idx_outbox_unsent_slot ON subscription.outbox_events (relay_slot, created_at) WHERE sent_at IS NULL;
+
+-- Live relay instances; used to compute each node's fair share of slots.
+CREATE TABLE subscription.outbox_relay_nodes (
+    node_id VARCHAR(128) PRIMARY KEY,
+    heartbeat_at TIMESTAMPTZ NOT NULL
+);
+
+-- One row per slot. A lease whose lease_until has passed belongs to a crashed or stalled node and can be claimed.
+CREATE TABLE subscription.outbox_relay_leases (
+    slot SMALLINT PRIMARY KEY,
+    owner VARCHAR(128),
+    lease_until TIMESTAMPTZ
+);
+
+INSERT INTO subscription.outbox_relay_leases (slot)
+SELECT s FROM generate_series(0, 63) AS s;
@@ -0,0 +1,12 @@
+-- Wake the outbox relay as soon as outbox rows commit instead of waiting for the next poll.
+-- NOTIFY is delivered only on commit, and identical notifications within one transaction are folded into one.
+CREATE OR REPLACE FUNCTION subscription.notify_outbox_insert() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('subscription_outbox', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_outbox_events_notify
+    AFTER INSERT ON subscription.outbox_events
+    FOR EACH STATEMENT EXECUTE FUNCTION subscription.notify_outbox_insert();
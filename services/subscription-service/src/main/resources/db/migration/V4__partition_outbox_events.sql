@@ -0,0 +1,61 @@
+-- Range-partition the outbox by created_at, one partition per UTC day, named outbox_events_pYYYYMMDD.
+-- OutboxPartitionMaintenance pre-creates upcoming days and drops fully sent days past the retention window,
+-- so purging sent history is a DROP TABLE instead of a mass DELETE plus vacuum.
+
+DROP TRIGGER trg_outbox_events_notify ON subscription.outbox_events;
+DROP INDEX subscription.idx_outbox_sent_at;
+DROP INDEX subscription.idx_outbox_topic;
+DROP INDEX subscription.idx_outbox_unsent;
+DROP INDEX subscription.idx_outbox_unsent_slot;
+ALTER TABLE subscription.outbox_events RENAME CONSTRAINT outbox_events_pkey TO outbox_events_unpartitioned_pkey;
+ALTER TABLE subscription.outbox_events RENAME TO outbox_events_unpartitioned;
+
+CREATE TABLE subscription.outbox_events (
+    id UUID NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    aggregate_type VARCHAR(64),
+    aggregate_id VARCHAR(64),
+    event_type VARCHAR(64) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    sent_at TIMESTAMPTZ,
+    relay_slot SMALLINT
+        GENERATED ALWAYS AS ((hashtext(COALESCE(aggregate_id, '')) & 2147483647) % 64) STORED,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Everything before today lands in one partition named after yesterday, so it ages out like any daily partition.
+-- Daily partitions cover today and the next 7 days; the default partition only catches rows if maintenance stalls.
+DO $$
+DECLARE
+    today DATE := (now() AT TIME ZONE 'UTC')::date;
+    day DATE;
+BEGIN
+    EXECUTE format(
+            'CREATE TABLE subscription.%I PARTITION OF subscription.outbox_events FOR VALUES FROM (MINVALUE) TO (%L)',
+            'outbox_events_p' || to_char(today - 1, 'YYYYMMDD'), today::timestamp AT TIME ZONE 'UTC');
+    FOR day IN SELECT generate_series(today, today + 7, interval '1 day')::date LOOP
+        EXECUTE format(
+                'CREATE TABLE subscription.%I PARTITION OF subscription.outbox_events FOR VALUES FROM (%L) TO (%L)',
+                'outbox_events_p' || to_char(day, 'YYYYMMDD'),
+                day::timestamp AT TIME ZONE 'UTC',
+                (day + 1)::timestamp AT TIME ZONE 'UTC');
+    END LOOP;
+END $$;
+
+CREATE TABLE subscription.outbox_events_default PARTITION OF subscription.outbox_events DEFAULT;
+
+INSERT INTO subscription.outbox_events (id, topic, payload, aggregate_type, aggregate_id, event_type, created_at, sent_at)
+SELECT id, topic, payload, aggregate_type, aggregate_id, event_type, created_at, sent_at
+FROM subscription.outbox_events_unpartitioned;
+
+DROP TABLE subscription.outbox_events_unpartitioned;
+
+CREATE INDEX idx_outbox_sent_at ON subscription.outbox_events (sent_at);
+CREATE INDEX idx_outbox_topic ON subscription.outbox_events (topic);
+CREATE INDEX idx_outbox_unsent ON subscription.outbox_events (created_at) WHERE sent_at IS NULL;
+CREATE INDEX idx_outbox_unsent_slot ON subscription.outbox_events (relay_slot, created_at) WHERE sent_at IS NULL;
+
+CREATE TRIGGER trg_outbox_events_notify
+    AFTER INSERT ON subscription.outbox_events
+    FOR EACH STATEMENT EXECUTE FUNCTION subscription.notify_outbox_insert();
@@ -0,0 +1,11 @@
+-- Partial indexes for the lifecycle sweeper's keyset scans over due subscriptions.
+-- Predicates must match SubscriptionLifecycleSweeper exactly for the planner to use them.
+-- Built concurrently so the migration does not block writes on a large table.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_subscriptions_trial_due
+    ON subscription.subscriptions (trial_ends_at, id)
+    WHERE status = 'TRIALING' AND NOT cancel_at_period_end;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_subscriptions_period_end_cancel_due
+    ON subscription.subscriptions (current_period_end, id)
+    WHERE cancel_at_period_end AND status NOT IN ('CANCELED', 'EXPIRED');
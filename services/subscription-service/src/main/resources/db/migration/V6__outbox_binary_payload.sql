@@ -0,0 +1,5 @@
+-- Outbox payloads are written by an EventCodec (compact binary by default, JSON with outbox.codec=json), so the
+-- column holds bytes. content_type records which codec wrote each row; existing rows are JSON.
+ALTER TABLE subscription.outbox_events
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8'),
+    ADD COLUMN content_type VARCHAR(64) NOT NULL DEFAULT 'application/json';
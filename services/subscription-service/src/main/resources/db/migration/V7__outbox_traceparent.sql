@@ -0,0 +1,4 @@
+-- W3C trace context of the request that wrote each outbox row, relayed as the Kafka 'traceparent' header.
+-- Nullable without default, so adding it is a catalog-only change on every partition.
+ALTER TABLE subscription.outbox_events
+    ADD COLUMN traceparent VARCHAR(55);
@@ -0,0 +1,5 @@
+-- Keyset order of incremental subscription exports (updated_at > since, resumed after (updated_at, id)).
+-- Full exports walk the primary key instead. Built concurrently so the migration does not block writes.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_subscriptions_updated_at_id
+    ON subscription.subscriptions (updated_at, id);
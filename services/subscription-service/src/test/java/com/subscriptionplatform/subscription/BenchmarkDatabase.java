@@ -0,0 +1,69 @@
+package com.subscriptionplatform.subscription;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Postgres for the {@code benchmark}-tagged tests: a Testcontainers Postgres, or an existing database when
+ * {@code -Dbenchmark.jdbc-url} (plus {@code .username}/{@code .password}) is set. Start it in {@code @BeforeAll}
+ * and close it in {@code @AfterAll}.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> postgres, String jdbcUrl, String username, String password) {
+        this.postgres = postgres;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static BenchmarkDatabase start() {
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        String username = System.getProperty("benchmark.username", "platform");
+        String password = System.getProperty("benchmark.password", "platform_secret");
+        if (jdbcUrl != null) {
+            return new BenchmarkDatabase(null, jdbcUrl, username, password);
+        }
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("subscription_bench")
+                .withUsername(username)
+                .withPassword(password);
+        postgres.start();
+        return new BenchmarkDatabase(postgres, postgres.getJdbcUrl(), username, password);
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    /** {@code args} followed by the arguments pointing a {@code SpringApplicationBuilder} at this database. */
+    String[] withDatasourceArgs(String... args) {
+        return Stream.concat(Arrays.stream(args), Stream.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password)).toArray(String[]::new);
+    }
+
+    @Override
+    public void close() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
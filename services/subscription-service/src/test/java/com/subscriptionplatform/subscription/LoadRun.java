@@ -0,0 +1,116 @@
+package com.subscriptionplatform.subscription;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load for the {@code benchmark}-tagged tests: each client is a virtual thread that sends a
+ * blocking request, records its latency and sends the next until the deadline. What is sent and how a status
+ * counts are up to the caller.
+ */
+final class LoadRun {
+
+    enum Outcome { OK, REJECTED, ERROR }
+
+    private LoadRun() {
+    }
+
+    /**
+     * @param requests   next request to send; called concurrently by all clients
+     * @param classifier outcome of a response status; I/O failures count as {@link Outcome#ERROR}
+     */
+    static Result run(int concurrency, Duration duration, Supplier<HttpRequest> requests,
+                      IntFunction<Outcome> classifier) throws Exception {
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(callers.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.get();
+                        long start = System.nanoTime();
+                        try {
+                            switch (classifier.apply(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode())) {
+                                case REJECTED -> rejected.incrementAndGet();
+                                case ERROR -> errors.incrementAndGet();
+                                case OK -> {
+                                }
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, n * 2);
+                        }
+                        latencies[n++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, n);
+                }));
+            }
+        }
+        long[] all = clients.stream().map(Future::resultNow).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, duration, rejected.get(), errors.get());
+    }
+
+    /** Starts a 14-day trial for each of {@code count} new users, one request at a time. */
+    static List<UUID> seedTrials(int port, int count) throws Exception {
+        List<UUID> users = new ArrayList<>(count);
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int i = 0; i < count; i++) {
+                UUID userId = UUID.randomUUID();
+                client.send(startTrial(port, userId), HttpResponse.BodyHandlers.discarding());
+                users.add(userId);
+            }
+        }
+        return users;
+    }
+
+    static HttpRequest startTrial(int port, UUID userId) {
+        return post(port, "/subscriptions/trial", "{\"userId\":\"" + userId + "\",\"trialDays\":14}");
+    }
+
+    static HttpRequest post(int port, String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    record Result(long[] sortedLatencyNanos, Duration duration, long rejected, long errors) {
+
+        long requests() {
+            return sortedLatencyNanos.length;
+        }
+
+        double throughput() {
+            return sortedLatencyNanos.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentileMs(double p) {
+            if (sortedLatencyNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencyNanos.length - 1, Math.ceil(p * sortedLatencyNanos.length) - 1);
+            return sortedLatencyNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.subscriptionplatform.subscription;
+
+import com.subscriptionplatform.subscription.LoadRun.Outcome;
+import com.subscriptionplatform.subscription.LoadRun.Result;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hammers a few hot users with concurrent {@code POST /subscriptions/cancel} (at period end, which is always
+ * allowed and always bumps the version) and compares: no retry ({@code max-attempts=1}, every lost race is a
+ * 409), optimistic-lock retry, and retry plus per-user lock stripes. Results are printed as a table; conflicts
+ * are responses that still lost after all attempts. Excluded from the default build, run with
+ * <pre>
+ * mvn -pl services/subscription-service test -Pbenchmark -Dtest=OptimisticLockContentionBenchmarkTest \
+ *     -Dbenchmark.hot-users=10 -Dbenchmark.concurrency=64 -Dbenchmark.duration=15s
+ * </pre>
+ * Set {@code -Dbenchmark.jdbc-url} (plus {@code .username}/{@code .password}) to use an existing database
+ * instead of a Testcontainers Postgres.
+ */
+@Tag("benchmark")
+class OptimisticLockContentionBenchmarkTest {
+
+    private static BenchmarkDatabase database;
+
+    @BeforeAll
+    static void startDatabase() {
+        database = BenchmarkDatabase.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        database.close();
+    }
+
+    @Test
+    void retryAndUserLocksUnderContention() throws Exception {
+        int hotUsers = Integer.getInteger("benchmark.hot-users", 10);
+        int concurrency = Integer.getInteger("benchmark.concurrency", 64);
+        Duration duration = Duration.parse("PT" + System.getProperty("benchmark.duration", "15s"));
+
+        List<String> rows = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            try (ConfigurableApplicationContext app = startService(mode)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                List<UUID> users = LoadRun.seedTrials(port, hotUsers);
+                run(port, users, concurrency, Duration.ofSeconds(3)); // Warm up JIT and pool
+                Result result = run(port, users, concurrency, duration);
+                rows.add(String.format("%-12s %9.0f %9.1f %9.1f %9d %6.2f%% %7d",
+                        mode.label, result.throughput(), result.percentileMs(0.50), result.percentileMs(0.99),
+                        result.rejected(), 100.0 * result.rejected() / Math.max(1, result.requests()), result.errors()));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("mode             req/s    p50 ms    p99 ms conflicts  rate%%  errors   (%d hot users, %d clients)%n",
+                hotUsers, concurrency);
+        rows.forEach(System.out::println);
+    }
+
+    private enum Mode {
+        NO_RETRY("no-retry", 1, false),
+        RETRY("retry", 4, false),
+        RETRY_LOCKS("retry+locks", 4, true);
+
+        final String label;
+        final int maxAttempts;
+        final boolean userLocks;
+
+        Mode(String label, int maxAttempts, boolean userLocks) {
+            this.label = label;
+            this.maxAttempts = maxAttempts;
+            this.userLocks = userLocks;
+        }
+    }
+
+    private ConfigurableApplicationContext startService(Mode mode) {
+        return new SpringApplicationBuilder(SubscriptionServiceApplication.class).run(database.withDatasourceArgs(
+                "--server.port=0",
+                "--subscription.command-retry.max-attempts=" + mode.maxAttempts,
+                "--subscription.user-locks.enabled=" + mode.userLocks,
+                // Measure command conflicts only: no cache, relay or background sweeps
+                "--subscription.cache.enabled=false",
+                "--subscription.lifecycle-sweeper.enabled=false",
+                "--outbox.relay.enabled=false",
+                "--logging.level.com.subscriptionplatform=ERROR"));
+    }
+
+    /** A 409 is a conflict that survived every attempt; anything else but 200 is an error. */
+    private Result run(int port, List<UUID> users, int concurrency, Duration duration) throws Exception {
+        return LoadRun.run(concurrency, duration, () -> {
+            UUID userId = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+            return LoadRun.post(port, "/subscriptions/cancel", "{\"userId\":\"" + userId + "\",\"atPeriodEnd\":true}");
+        }, status -> switch (status) {
+            case 200 -> Outcome.OK;
+            case 409 -> Outcome.REJECTED;
+            default -> Outcome.ERROR;
+        });
+    }
+}
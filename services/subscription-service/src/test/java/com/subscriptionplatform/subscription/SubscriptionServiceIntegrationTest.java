@@ -1,18 +1,22 @@
 package com.subscriptionplatform.subscription;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionplatform.subscription.api.dto.BulkLookupRequest;
 import com.subscriptionplatform.subscription.api.dto.CancelRequest;
 import com.subscriptionplatform.subscription.api.dto.ReactivateRequest;
 import com.subscriptionplatform.subscription.api.dto.StartTrialRequest;
+import com.subscriptionplatform.subscription.domain.UuidV7;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.KafkaContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -20,8 +24,13 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -60,6 +69,9 @@ class SubscriptionServiceIntegrationTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Test
     void getSubscription_notFound_returns404() throws Exception {
         UUID userId = UUID.randomUUID();
@@ -99,6 +111,84 @@ class SubscriptionServiceIntegrationTest {
                 .andExpect(jsonPath("$.status").value("TRIALING"));
     }
 
+    @Test
+    void getSubscription_afterCancel_servesCommittedState() throws Exception {
+        UUID userId = UUID.randomUUID();
+        mockMvc.perform(post("/subscriptions/trial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartTrialRequest(userId, 14))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/subscriptions/me").param("userId", userId.toString()))
+                .andExpect(jsonPath("$.status").value("TRIALING"));
+
+        mockMvc.perform(post("/subscriptions/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CancelRequest(userId, false))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/subscriptions/me").param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELED"));
+    }
+
+    @Test
+    void getSubscription_matchingIfNoneMatch_returns304UntilSubscriptionChanges() throws Exception {
+        UUID userId = UUID.randomUUID();
+        mockMvc.perform(post("/subscriptions/trial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartTrialRequest(userId, 14))))
+                .andExpect(status().isOk());
+        String etag = mockMvc.perform(get("/subscriptions/me").param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/subscriptions/me").param("userId", userId.toString()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/subscriptions/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CancelRequest(userId, true))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/subscriptions/me").param("userId", userId.toString()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.cancelAtPeriodEnd").value(true));
+    }
+
+    @Test
+    void entitlements_reflectCommittedTransitions() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        mockMvc.perform(post("/subscriptions/trial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartTrialRequest(userId, 14))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/entitlements").param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.premium").value(true))
+                .andExpect(jsonPath("$.status").value("TRIALING"));
+
+        mockMvc.perform(post("/subscriptions/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CancelRequest(userId, false))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/entitlements/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkLookupRequest(List.of(userId, unknown)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(userId.toString()))
+                .andExpect(jsonPath("$[0].premium").value(false))
+                .andExpect(jsonPath("$[0].status").value("CANCELED"))
+                .andExpect(jsonPath("$[1].userId").value(unknown.toString()))
+                .andExpect(jsonPath("$[1].premium").value(false))
+                .andExpect(jsonPath("$[1].plan").isEmpty());
+    }
+
     @Test
     void cancel_atPeriodEnd_succeeds() throws Exception {
         UUID userId = UUID.randomUUID();
@@ -131,6 +221,24 @@ class SubscriptionServiceIntegrationTest {
                 .andExpect(jsonPath("$.status").value("CANCELED"));
     }
 
+    @Test
+    void cancel_freeSubscription_returns409Problem() throws Exception {
+        UUID userId = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.update("""
+                INSERT INTO subscription.subscriptions (id, user_id, plan, status, created_at, updated_at)
+                VALUES (?, ?, 'FREE', 'FREE', ?, ?)
+                """, UuidV7.next(), userId, createdAt, createdAt);
+
+        mockMvc.perform(post("/subscriptions/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CancelRequest(userId, false))))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType("application/problem+json"))
+                .andExpect(jsonPath("$.title").value("Invalid State"))
+                .andExpect(jsonPath("$.detail").value("Invalid subscription transition: FREE -> CANCELED"));
+    }
+
     @Test
     void reactivate_afterCancel_succeeds() throws Exception {
         UUID userId = UUID.randomUUID();
@@ -158,4 +266,73 @@ class SubscriptionServiceIntegrationTest {
                         .content("{\"trialDays\": 14}"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void lookup_returnsLatestSubscriptionPerUserAndOmitsUnknownUsers() throws Exception {
+        UUID canceledThenRestarted = UUID.randomUUID();
+        UUID trialing = UUID.randomUUID();
+        for (UUID userId : List.of(canceledThenRestarted, trialing)) {
+            mockMvc.perform(post("/subscriptions/trial")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StartTrialRequest(userId, 14))))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/subscriptions/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CancelRequest(canceledThenRestarted, false))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/subscriptions/trial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StartTrialRequest(canceledThenRestarted, 7))))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(post("/subscriptions/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BulkLookupRequest(List.of(canceledThenRestarted, trialing, UUID.randomUUID())))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.userId == '" + canceledThenRestarted + "')].status").value("TRIALING"))
+                .andExpect(jsonPath("$[?(@.userId == '" + trialing + "')].status").value("TRIALING"));
+    }
+
+    @Test
+    void lookup_rowsCreatedAtSameInstant_returnsLatestId() throws Exception {
+        UUID userId = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        UUID older = UuidV7.next();
+        UUID newer = UuidV7.next();
+        for (Object[] row : List.of(new Object[]{newer, "EXPIRED"}, new Object[]{older, "CANCELED"})) {
+            jdbcTemplate.update("""
+                    INSERT INTO subscription.subscriptions (id, user_id, plan, status, created_at, updated_at)
+                    VALUES (?, ?, 'INDIVIDUAL', ?, ?, ?)
+                    """, row[0], userId, row[1], createdAt, createdAt);
+        }
+
+        MvcResult result = mockMvc.perform(post("/subscriptions/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkLookupRequest(List.of(userId)))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(newer.toString()))
+                .andExpect(jsonPath("$[0].status").value("EXPIRED"));
+    }
+
+    @Test
+    void lookup_tooManyUserIds_returns400() throws Exception {
+        List<UUID> userIds = Stream.generate(UUID::randomUUID).limit(BulkLookupRequest.MAX_USER_IDS + 1).toList();
+
+        mockMvc.perform(post("/subscriptions/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkLookupRequest(userIds))))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,104 @@
+package com.subscriptionplatform.subscription;
+
+import com.subscriptionplatform.subscription.domain.UuidV7;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same outbox-shaped rows keyed by random v4 and by time-ordered v7 UUIDs and reports insert
+ * throughput and primary-key index size. Tables are
+ * unlogged scratch copies so the comparison measures the B-tree, not WAL. Excluded from the default build, run with
+ * <pre>
+ * mvn -pl services/subscription-service test -Pbenchmark -Dtest=UuidV7InsertBenchmarkTest \
+ *     -Dbenchmark.rows=1000000
+ * </pre>
+ * Set {@code -Dbenchmark.jdbc-url} (plus {@code .username}/{@code .password}) to use an existing database
+ * instead of a Testcontainers Postgres.
+ */
+@Tag("benchmark")
+class UuidV7InsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static BenchmarkDatabase database;
+
+    @BeforeAll
+    static void startDatabase() {
+        database = BenchmarkDatabase.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        database.close();
+    }
+
+    @Test
+    void randomVersusTimeOrderedKeys() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        List<String> results = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(
+                database.jdbcUrl() + reWriteBatchedInserts(), database.username(), database.password())) {
+            results.add(run(connection, "uuid_bench_v4", rows, UUID::randomUUID));
+            results.add(run(connection, "uuid_bench_v7", rows, UuidV7::next));
+        }
+
+        System.out.println();
+        System.out.println("keys        rows      rows/s   pkey MB  table MB  (batches of " + BATCH_SIZE + ")");
+        results.forEach(System.out::println);
+    }
+
+    private String run(Connection connection, String table, int rows, Supplier<UUID> ids) throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE UNLOGGED TABLE " + table + " (id uuid PRIMARY KEY, aggregate_id uuid NOT NULL, "
+                    + "payload text NOT NULL, created_at timestamptz NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, aggregate_id, payload, created_at) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setString(3, "{\"eventType\":\"SubscriptionTrialStarted\",\"plan\":\"INDIVIDUAL\"}");
+                insert.setTimestamp(4, Timestamp.from(Instant.now()));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        connection.setAutoCommit(true);
+
+        try (Statement stats = connection.createStatement();
+             ResultSet rs = stats.executeQuery("SELECT pg_relation_size('" + table + "_pkey'), pg_relation_size('" + table + "')")) {
+            rs.next();
+            String row = String.format("%-8s %8d %11.0f %9.1f %9.1f",
+                    table.substring(table.lastIndexOf('_') + 1), rows, rows / seconds,
+                    rs.getLong(1) / 1048576.0, rs.getLong(2) / 1048576.0);
+            stats.execute("DROP TABLE " + table);
+            return row;
+        }
+    }
+
+    private static String reWriteBatchedInserts() {
+        return (database.jdbcUrl().contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+    }
+}
@@ -0,0 +1,100 @@
+package com.subscriptionplatform.subscription;
+
+import com.subscriptionplatform.subscription.LoadRun.Outcome;
+import com.subscriptionplatform.subscription.LoadRun.Result;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares platform and virtual request threads against the production pool size of 10 connections.
+ * <p>
+ * Every client issues blocking requests in a loop: 80% {@code GET /subscriptions/me} with the cache off, so each
+ * read reaches Postgres, and 20% trial starts, which write a subscription and an outbox row. Results are
+ * printed as a table; errors (for example Hikari timeouts once the wait for a connection exceeds
+ * {@code connection-timeout}) are reported, not failed on. Excluded from the default build, run with
+ * <pre>
+ * mvn -pl services/subscription-service test -Pbenchmark \
+ *     -Dbenchmark.concurrency=50,500,2000 -Dbenchmark.duration=20s
+ * </pre>
+ * Set {@code -Dbenchmark.jdbc-url} (plus {@code .username}/{@code .password}) to use an existing database
+ * instead of a Testcontainers Postgres.
+ */
+@Tag("benchmark")
+class VirtualThreadsBenchmarkTest {
+
+    private static final int SEEDED_USERS = 2_000;
+
+    private static BenchmarkDatabase database;
+
+    @BeforeAll
+    static void startDatabase() {
+        database = BenchmarkDatabase.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        database.close();
+    }
+
+    @Test
+    void platformVersusVirtualRequestThreads() throws Exception {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("benchmark.concurrency", "50,500,2000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.parse("PT" + System.getProperty("benchmark.duration", "20s"));
+
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = startService(virtual)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                List<UUID> users = LoadRun.seedTrials(port, SEEDED_USERS);
+                run(port, users, 50, Duration.ofSeconds(5)); // Warm up JIT, pool and Tomcat
+                for (int concurrency : concurrencyLevels) {
+                    Result result = run(port, users, concurrency, duration);
+                    rows.add(String.format("%-8s %7d %9.0f %9.1f %9.1f %9.1f %7d",
+                            virtual ? "virtual" : "platform", concurrency, result.throughput(),
+                            result.percentileMs(0.50), result.percentileMs(0.99), result.percentileMs(0.999), result.errors()));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("threads  clients     req/s    p50 ms    p99 ms  p99.9 ms  errors   (hikari maximum-pool-size=10)");
+        rows.forEach(System.out::println);
+    }
+
+    private ConfigurableApplicationContext startService(boolean virtual) {
+        return new SpringApplicationBuilder(SubscriptionServiceApplication.class).run(database.withDatasourceArgs(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.hikari.maximum-pool-size=10",
+                // Measure request threads against Postgres only: no cache, relay or background sweeps
+                "--subscription.cache.enabled=false",
+                "--subscription.lifecycle-sweeper.enabled=false",
+                "--outbox.relay.enabled=false",
+                "--logging.level.com.subscriptionplatform=WARN"));
+    }
+
+    private Result run(int port, List<UUID> users, int concurrency, Duration duration) throws Exception {
+        return LoadRun.run(concurrency, duration, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return random.nextInt(10) < 8
+                    ? HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/subscriptions/me?userId=" + users.get(random.nextInt(users.size())))).build()
+                    : LoadRun.startTrial(port, UUID.randomUUID());
+        }, status -> status == 200 ? Outcome.OK : Outcome.ERROR);
+    }
+}
@@ -0,0 +1,91 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Entitlement;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntitlementIndexTest {
+
+    @Test
+    void get_returnsLatestPut_andNullForUnknownUsers() {
+        EntitlementIndex index = new EntitlementIndex();
+        UUID userId = UUID.randomUUID();
+
+        index.put(userId, Plan.INDIVIDUAL, SubscriptionStatus.TRIALING);
+        index.put(userId, Plan.INDIVIDUAL, SubscriptionStatus.CANCELED);
+
+        assertEquals(new Entitlement(Plan.INDIVIDUAL, SubscriptionStatus.CANCELED), index.get(userId));
+        assertNull(index.get(UUID.randomUUID()));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void put_beyondInitialCapacity_growsAndKeepsEveryUser() {
+        EntitlementIndex index = new EntitlementIndex(16);
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            UUID userId = UUID.randomUUID();
+            users.add(userId);
+            index.put(userId, Plan.values()[i % Plan.values().length], SubscriptionStatus.values()[i % SubscriptionStatus.values().length]);
+        }
+
+        for (int i = 0; i < users.size(); i++) {
+            Entitlement entitlement = index.get(users.get(i));
+            assertEquals(Plan.values()[i % Plan.values().length], entitlement.plan());
+            assertEquals(SubscriptionStatus.values()[i % SubscriptionStatus.values().length], entitlement.status());
+        }
+        assertEquals(100_000, index.size());
+        assertTrue(index.memoryBytes() / index.size() < 50, "bytes per user: " + index.memoryBytes() / index.size());
+    }
+
+    @Test
+    void get_duringConcurrentWritesAndGrowth_alwaysSeesExistingUsers() throws Exception {
+        EntitlementIndex index = new EntitlementIndex(16);
+        UUID existing = new UUID(0, 0); // The nil UUID is a valid key too
+        index.put(existing, Plan.FAMILY, SubscriptionStatus.ACTIVE);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(4)) {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(threads.submit(() -> {
+                    int misses = 0;
+                    while (writing.get()) {
+                        Entitlement entitlement = index.get(existing);
+                        if (entitlement == null || entitlement.plan() != Plan.FAMILY) {
+                            misses++;
+                        }
+                    }
+                    return misses;
+                }));
+            }
+            for (int i = 0; i < 200_000; i++) {
+                index.put(UUID.randomUUID(), Plan.INDIVIDUAL, SubscriptionStatus.ACTIVE);
+            }
+            writing.set(false);
+            for (Future<Integer> reader : readers) {
+                assertEquals(0, reader.get());
+            }
+        }
+    }
+
+    @Test
+    void premium_paidPlanInGrantingStatusOnly() {
+        assertTrue(new Entitlement(Plan.INDIVIDUAL, SubscriptionStatus.TRIALING).premium());
+        assertTrue(new Entitlement(Plan.FAMILY, SubscriptionStatus.GRACE_PERIOD).premium());
+        assertFalse(new Entitlement(Plan.INDIVIDUAL, SubscriptionStatus.CANCELED).premium());
+        assertFalse(new Entitlement(Plan.DUO, SubscriptionStatus.EXPIRED).premium());
+        assertFalse(new Entitlement(Plan.FREE, SubscriptionStatus.FREE).premium());
+    }
+}
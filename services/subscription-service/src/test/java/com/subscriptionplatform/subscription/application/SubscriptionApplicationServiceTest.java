@@ -0,0 +1,76 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.subscriptionplatform.subscription.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SubscriptionApplicationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SubscriptionRepository repository = mock(SubscriptionRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SubscriptionApplicationService service = new SubscriptionApplicationService(repository,
+            mock(OutboxPublisher.class), meterRegistry, mock(SubscriptionCache.class),
+            mock(ApplicationEventPublisher.class), mock(ReplicaConsistency.class),
+            new SubscriptionCommandExecutor(meterRegistry, 3, Duration.ZERO, Duration.ZERO, false, 1),
+            new TransactionTemplate(transactionManager));
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void startTrial_commitConflictThenSuccess_countsTheTransitionOnce() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doThrow(new ObjectOptimisticLockingFailureException(Subscription.class, userId))
+                .doNothing()
+                .when(transactionManager).commit(any());
+        // Every attempt re-reads the subscription as it is in the database
+        when(repository.findActiveByUserId(userId)).thenAnswer(invocation -> Optional.of(freeSubscription()));
+        when(repository.save(any(Subscription.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SubscriptionCommandResult result = service.startTrial(userId, 14);
+
+        assertFalse(result.isRejected());
+        assertEquals(SubscriptionStatus.TRIALING, result.subscription().status());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(1.0, meterRegistry.counter("subscriptions_state_transition_total",
+                "from", "FREE", "to", "TRIALING").count());
+        assertEquals(1.0, meterRegistry.counter("subscriptions_optimistic_lock_conflicts_total",
+                "operation", "start_trial", "outcome", "retried").count());
+    }
+
+    @Test
+    void startTrial_rejected_countsNoTransition() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Subscription trialing = freeSubscription();
+        trialing.startTrial(14);
+        when(repository.findActiveByUserId(userId)).thenReturn(Optional.of(trialing));
+
+        SubscriptionCommandResult result = service.startTrial(userId, 14);
+
+        assertTrue(result.isRejected());
+        assertTrue(meterRegistry.find("subscriptions_state_transition_total").counters().isEmpty());
+    }
+
+    private Subscription freeSubscription() {
+        Subscription sub = new Subscription();
+        sub.setUserId(userId);
+        sub.setPlan(Plan.FREE);
+        sub.setStatus(SubscriptionStatus.FREE);
+        return sub;
+    }
+}
@@ -0,0 +1,133 @@
+package com.subscriptionplatform.subscription.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=false",
+        "subscription.cache.enabled=false",
+        "subscription.lifecycle-sweeper.enabled=false",
+        "subscription.bulk-ingest.chunk-size=4"
+})
+@Testcontainers
+@ActiveProfiles("test")
+class SubscriptionBulkIngestIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    SubscriptionBulkIngestService bulkIngestService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM subscription.outbox_events");
+        jdbcTemplate.update("DELETE FROM subscription.subscriptions");
+    }
+
+    @AfterEach
+    void dropFailureTrigger() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_reject_user ON subscription.subscriptions");
+    }
+
+    @Test
+    void ingest_appliesOperationsAcrossChunks_andReportsRejectedItems() throws Exception {
+        List<UUID> users = new ArrayList<>();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            UUID userId = UUID.randomUUID();
+            users.add(userId);
+            ndjson.append(startTrial(userId));
+        }
+        ndjson.append(cancel(users.get(0), false))                  // line 11
+                .append(cancel(users.get(1), true))                 // line 12
+                .append(startTrial(users.get(2)))                   // line 13: already in trial
+                .append(cancel(UUID.randomUUID(), false))           // line 14: nothing to cancel
+                .append("\n")
+                .append("{\"op\":\"upgrade\"}\n")                   // line 16: unknown op
+                .append(startTrial(users.get(0)));                  // line 17: new trial after cancel
+        List<SubscriptionBulkIngestService.Failure> failures = new ArrayList<>();
+
+        SubscriptionBulkIngestService.Summary summary =
+                bulkIngestService.ingest(new StringReader(ndjson.toString()), failures::add);
+
+        assertEquals(16, summary.operations());
+        assertEquals(13, summary.applied());
+        assertEquals(3, summary.failed());
+        assertEquals(List.of(13L, 14L, 16L), failures.stream().map(SubscriptionBulkIngestService.Failure::line).sorted().toList());
+        assertEquals("User is already in trial",
+                failures.stream().filter(f -> f.line() == 13).findFirst().orElseThrow().error());
+
+        assertEquals(11, count("SELECT count(*) FROM subscription.subscriptions"));
+        assertEquals(10, count("SELECT count(*) FROM subscription.subscriptions WHERE status = 'TRIALING'"));
+        assertEquals(1, count("SELECT count(*) FROM subscription.subscriptions WHERE cancel_at_period_end"));
+        assertEquals(13, count("SELECT count(*) FROM subscription.outbox_events"));
+    }
+
+    @Test
+    void ingest_chunkThatFailsToCommit_isRetriedItemByItem() throws Exception {
+        UUID rejected = UUID.randomUUID();
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION subscription.reject_user() RETURNS trigger AS $$
+                BEGIN
+                    RAISE EXCEPTION 'rejected by test';
+                END $$ LANGUAGE plpgsql
+                """);
+        jdbcTemplate.execute("CREATE TRIGGER trg_reject_user BEFORE INSERT ON subscription.subscriptions "
+                + "FOR EACH ROW WHEN (NEW.user_id = '" + rejected + "') EXECUTE FUNCTION subscription.reject_user()");
+        String ndjson = startTrial(UUID.randomUUID()) + startTrial(rejected) + startTrial(UUID.randomUUID());
+        List<SubscriptionBulkIngestService.Failure> failures = new ArrayList<>();
+
+        SubscriptionBulkIngestService.Summary summary = bulkIngestService.ingest(new StringReader(ndjson), failures::add);
+
+        assertEquals(2, summary.applied());
+        assertEquals(1, failures.size());
+        assertEquals(rejected, failures.get(0).userId());
+        assertEquals(2, count("SELECT count(*) FROM subscription.subscriptions"));
+        assertEquals(2, count("SELECT count(*) FROM subscription.outbox_events"));
+    }
+
+    private static String startTrial(UUID userId) {
+        return "{\"op\":\"startTrial\",\"userId\":\"" + userId + "\",\"trialDays\":14}\n";
+    }
+
+    private static String cancel(UUID userId, boolean atPeriodEnd) {
+        return "{\"op\":\"cancel\",\"userId\":\"" + userId + "\",\"atPeriodEnd\":" + atPeriodEnd + "}\n";
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
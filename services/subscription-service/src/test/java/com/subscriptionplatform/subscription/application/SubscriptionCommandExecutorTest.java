@@ -0,0 +1,108 @@
+package com.subscriptionplatform.subscription.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionCommandExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void execute_conflictThenSuccess_retriesAndReturnsResult() {
+        SubscriptionCommandExecutor executor = executor(3, false);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute("cancel", userId, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "applied";
+        });
+
+        assertEquals("applied", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(0.0, conflicts("exhausted"));
+    }
+
+    @Test
+    void execute_conflictOnEveryAttempt_rethrowsAfterMaxAttempts() {
+        SubscriptionCommandExecutor executor = executor(3, false);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.execute("cancel", userId, () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, conflicts("retried"));
+        assertEquals(1.0, conflicts("exhausted"));
+    }
+
+    @Test
+    void execute_otherFailure_isNotRetried() {
+        SubscriptionCommandExecutor executor = executor(3, false);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> executor.execute("start_trial", userId, () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void execute_userLocks_serializeCommandsOfTheSameUser() throws Exception {
+        SubscriptionCommandExecutor executor = executor(1, true);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Future<?>> commands = new ArrayList<>();
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 32; i++) {
+                commands.add(threads.submit(() -> executor.execute("cancel", userId, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.onSpinWait();
+                    running.decrementAndGet();
+                    return null;
+                })));
+            }
+            for (Future<?> command : commands) {
+                command.get();
+            }
+        }
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(32, meterRegistry.get("subscriptions_user_lock_wait").timer().count());
+    }
+
+    private SubscriptionCommandExecutor executor(int maxAttempts, boolean userLocks) {
+        return new SubscriptionCommandExecutor(meterRegistry, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5),
+                userLocks, 64);
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.counter("subscriptions_optimistic_lock_conflicts_total",
+                "operation", "cancel", "outcome", outcome).count();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Subscription", UUID.randomUUID());
+    }
+}
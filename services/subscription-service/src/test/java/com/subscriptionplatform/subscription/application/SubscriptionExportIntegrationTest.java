@@ -0,0 +1,186 @@
+package com.subscriptionplatform.subscription.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=false",
+        "subscription.cache.enabled=false",
+        "subscription.lifecycle-sweeper.enabled=false",
+        "subscription.export.fetch-size=7",
+        "subscription.export.incremental-overlap=0s"
+})
+@Testcontainers
+@ActiveProfiles("test")
+class SubscriptionExportIntegrationTest {
+
+    private static final int ROWS = 50;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    SubscriptionExportService exportService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final Instant base = Instant.now().truncatedTo(ChronoUnit.MILLIS).minus(1, ChronoUnit.DAYS);
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM subscription.outbox_events");
+        jdbcTemplate.update("DELETE FROM subscription.subscriptions");
+        for (int i = 0; i < ROWS; i++) {
+            Timestamp updatedAt = Timestamp.from(base.plusSeconds(i / 2)); // Pairs share updated_at: ties break on id
+            jdbcTemplate.update("""
+                    INSERT INTO subscription.subscriptions (id, user_id, plan, status, trial_ends_at,
+                        cancel_at_period_end, version, created_at, updated_at)
+                    VALUES (?, ?, 'INDIVIDUAL', 'TRIALING', ?, false, ?, ?, ?)
+                    """, UUID.randomUUID(), UUID.randomUUID(), Timestamp.from(base.plus(14, ChronoUnit.DAYS)), i,
+                    Timestamp.from(base), updatedAt);
+        }
+    }
+
+    @Test
+    void fullExport_streamsEveryRowInIdOrder_andResumesAfterLastId() throws Exception {
+        List<JsonNode> all = ndjson(new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.NDJSON, null, null, null));
+
+        assertEquals(ROWS, all.size());
+        List<UUID> ids = all.stream().map(row -> UUID.fromString(row.get("id").asText())).toList();
+        assertEquals(jdbcTemplate.queryForList("SELECT id FROM subscription.subscriptions ORDER BY id", UUID.class), ids);
+        JsonNode first = all.get(0);
+        assertEquals("TRIALING", first.get("status").asText());
+        assertTrue(first.get("canceledAt").isNull());
+        assertEquals(base, Instant.parse(first.get("createdAt").asText()));
+
+        List<JsonNode> resumed = ndjson(new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.NDJSON, null, null, ids.get(19)));
+
+        assertEquals(all.subList(20, ROWS), resumed);
+    }
+
+    @Test
+    void incrementalExport_onlyRowsUpdatedSince_inUpdatedAtOrder_andResumes() throws Exception {
+        Instant since = base.plusSeconds(20); // Rows 40..49
+        List<JsonNode> changed = ndjson(new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.NDJSON, since, null, null));
+
+        assertEquals(10, changed.size());
+        assertTrue(changed.stream().allMatch(row -> row.get("version").asLong() >= 40));
+
+        JsonNode last = changed.get(4); // Shares updated_at with changed.get(5)
+        List<JsonNode> resumed = ndjson(new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.NDJSON, since, Instant.parse(last.get("updatedAt").asText()),
+                UUID.fromString(last.get("id").asText())));
+
+        assertEquals(changed.subList(5, 10), resumed);
+    }
+
+    @Test
+    void incrementalExport_repeatsTheOverlapWindow_toCatchLateCommits() throws Exception {
+        SubscriptionExportService overlapping = new SubscriptionExportService(dataSource, transactionManager, objectMapper,
+                7, Duration.ofSeconds(5));
+        // A transaction that wrote updated_at = base + 17s but committed after an export up to base + 20s had run
+        Instant since = base.plusSeconds(20);
+
+        List<JsonNode> changed = ndjson(overlapping, new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.NDJSON, since, null, null));
+
+        assertEquals(20, changed.size()); // Rows 30..49: updated_at >= base + 15s
+        assertTrue(changed.stream().anyMatch(row -> Instant.parse(row.get("updatedAt").asText()).equals(base.plusSeconds(17))));
+    }
+
+    @Test
+    void csvExport_writesHeaderAndOneLinePerRow() {
+        String[] lines = export(new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.CSV, null, null, null)).split("\r\n");
+
+        assertEquals(ROWS + 1, lines.length);
+        assertEquals("id,userId,plan,status,trialEndsAt,currentPeriodStart,currentPeriodEnd,"
+                + "cancelAtPeriodEnd,canceledAt,version,createdAt,updatedAt", lines[0]);
+        String[] fields = lines[1].split(",", -1);
+        assertEquals(12, fields.length);
+        assertEquals("INDIVIDUAL", fields[2]);
+        assertEquals("", fields[8]);
+        assertEquals("false", fields[7]);
+    }
+
+    @Test
+    void exportRequest_resumingIncrementalExportWithoutUpdatedAt_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SubscriptionExportService.ExportRequest(
+                SubscriptionExportService.Format.NDJSON, base, null, UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> SubscriptionExportService.Format.parse("xml"));
+    }
+
+    private List<JsonNode> ndjson(SubscriptionExportService.ExportRequest request) throws Exception {
+        return ndjson(exportService, request);
+    }
+
+    private List<JsonNode> ndjson(SubscriptionExportService service, SubscriptionExportService.ExportRequest request)
+            throws Exception {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : export(service, request).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private String export(SubscriptionExportService.ExportRequest request) {
+        return export(exportService, request);
+    }
+
+    private String export(SubscriptionExportService service, SubscriptionExportService.ExportRequest request) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(request, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
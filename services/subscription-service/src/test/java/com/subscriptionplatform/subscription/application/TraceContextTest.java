@@ -0,0 +1,61 @@
+package com.subscriptionplatform.subscription.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    private static final String CALLER = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void start_validTraceparent_continuesTraceWithNewSpan() {
+        String traceparent = TraceContext.start(CALLER, null);
+
+        assertTrue(TraceContext.isValidTraceparent(traceparent));
+        assertEquals(CALLER.substring(0, 36), traceparent.substring(0, 36));
+        assertNotEquals(CALLER.substring(36, 52), traceparent.substring(36, 52));
+        assertEquals("01", traceparent.substring(53));
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", MDC.get(TraceContext.MDC_TRACE_ID));
+        assertEquals(traceparent, TraceContext.currentTraceparent());
+    }
+
+    @Test
+    void start_legacy16DigitTraceId_isLeftPadded() {
+        String traceparent = TraceContext.start(null, "a3ce929d0e0e4736");
+
+        assertEquals("0000000000000000a3ce929d0e0e4736", traceparent.substring(3, 35));
+        assertEquals("0000000000000000a3ce929d0e0e4736", MDC.get(TraceContext.MDC_TRACE_ID));
+    }
+
+    @Test
+    void start_invalidHeaders_startNewTraceButKeepLegacyIdForLogs() {
+        String traceparent = TraceContext.start("00-00000000000000000000000000000000-00f067aa0ba902b7-01", "order-42");
+
+        assertTrue(TraceContext.isValidTraceparent(traceparent));
+        assertNotEquals("00000000000000000000000000000000", traceparent.substring(3, 35));
+        assertEquals("order-42", MDC.get(TraceContext.MDC_TRACE_ID));
+    }
+
+    @Test
+    void isValidTraceparent_rejectsMalformedValues() {
+        assertFalse(TraceContext.isValidTraceparent(null));
+        assertFalse(TraceContext.isValidTraceparent(CALLER.toUpperCase()));
+        assertFalse(TraceContext.isValidTraceparent(CALLER.substring(1)));
+        assertFalse(TraceContext.isValidTraceparent("ff" + CALLER.substring(2)));
+        assertFalse(TraceContext.isValidTraceparent(CALLER.replace("00f067aa0ba902b7", "0000000000000000")));
+    }
+
+    @Test
+    void newIds_areLowerHexOfW3cLength() {
+        assertTrue(TraceContext.newTraceId().matches("[0-9a-f]{32}"));
+        assertTrue(TraceContext.newSpanId().matches("[0-9a-f]{16}"));
+    }
+}
@@ -69,4 +69,30 @@ class SubscriptionStateMachineTest {
         assertTrue(SubscriptionStateMachine.canTransition(SubscriptionStatus.ACTIVE, SubscriptionStatus.ACTIVE));
         assertDoesNotThrow(() -> SubscriptionStateMachine.validateTransition(SubscriptionStatus.ACTIVE, SubscriptionStatus.ACTIVE));
     }
+
+    @Test
+    void check_rejectedPair_returnsSharedResultWithMessage() {
+        TransitionResult result = SubscriptionStateMachine.check(SubscriptionStatus.CANCELED, SubscriptionStatus.TRIALING);
+
+        assertFalse(result.allowed());
+        assertEquals("Invalid subscription transition: CANCELED -> TRIALING", result.reason());
+        assertSame(result, SubscriptionStateMachine.check(SubscriptionStatus.CANCELED, SubscriptionStatus.TRIALING));
+    }
+
+    @Test
+    void check_agreesWithValidateTransitionForAllPairs() {
+        for (SubscriptionStatus from : SubscriptionStatus.values()) {
+            for (SubscriptionStatus to : SubscriptionStatus.values()) {
+                TransitionResult result = SubscriptionStateMachine.check(from, to);
+                if (result.allowed()) {
+                    assertSame(TransitionResult.ALLOWED, result);
+                    assertDoesNotThrow(() -> SubscriptionStateMachine.validateTransition(from, to));
+                } else {
+                    IllegalStateException e = assertThrows(IllegalStateException.class,
+                            () -> SubscriptionStateMachine.validateTransition(from, to));
+                    assertEquals(result.reason(), e.getMessage());
+                }
+            }
+        }
+    }
 }
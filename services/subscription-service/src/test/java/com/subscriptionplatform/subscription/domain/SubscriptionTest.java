@@ -26,6 +26,30 @@ class SubscriptionTest {
         assertThrows(IllegalStateException.class, () -> sub.startTrial(7));
     }
 
+    @Test
+    void tryStartTrial_fromTrialing_returnsRejectionAndLeavesStateUnchanged() {
+        Subscription sub = createFreeSubscription();
+        sub.startTrial(14);
+        var trialEndsAt = sub.getTrialEndsAt();
+
+        TransitionResult result = sub.tryStartTrial(7);
+
+        assertFalse(result.allowed());
+        assertEquals("User is already in trial", result.reason());
+        assertEquals(trialEndsAt, sub.getTrialEndsAt());
+    }
+
+    @Test
+    void tryCancel_fromFree_returnsRejection() {
+        Subscription sub = createFreeSubscription();
+
+        TransitionResult result = sub.tryCancel(false);
+
+        assertEquals("Invalid subscription transition: FREE -> CANCELED", result.reason());
+        assertEquals(SubscriptionStatus.FREE, sub.getStatus());
+        assertNull(sub.getCanceledAt());
+    }
+
     @Test
     void cancel_atPeriodEnd_setsFlag() {
         Subscription sub = createActiveSubscription();
@@ -43,6 +67,23 @@ class SubscriptionTest {
         assertNotNull(sub.getCanceledAt());
     }
 
+    @Test
+    void completeScheduledCancellation_keepsRequestTime() {
+        Subscription sub = createActiveSubscription();
+        sub.cancel(true);
+        var requestedAt = sub.getCanceledAt();
+        sub.completeScheduledCancellation();
+        assertEquals(SubscriptionStatus.CANCELED, sub.getStatus());
+        assertFalse(sub.isCancelAtPeriodEnd());
+        assertEquals(requestedAt, sub.getCanceledAt());
+    }
+
+    @Test
+    void completeScheduledCancellation_withoutSchedule_throws() {
+        Subscription sub = createActiveSubscription();
+        assertThrows(IllegalStateException.class, sub::completeScheduledCancellation);
+    }
+
     @Test
     void reactivate_fromCanceled_succeeds() {
         Subscription sub = createActiveSubscription();
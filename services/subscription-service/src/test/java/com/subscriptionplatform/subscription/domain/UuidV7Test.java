@@ -0,0 +1,67 @@
+package com.subscriptionplatform.subscription.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(UuidV7.timestampMillis(id) >= before);
+    }
+
+    @Test
+    void next_sameMillisecond_staysStrictlyIncreasing() {
+        AtomicLong state = new AtomicLong();
+        long now = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.next(state, now));
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "key " + i + " must sort after its predecessor");
+        }
+        // 4096 keys per millisecond; later ones borrow the following milliseconds
+        assertEquals(now, UuidV7.timestampMillis(ids.get(0)));
+        assertEquals(now + 2, UuidV7.timestampMillis(ids.get(ids.size() - 1)));
+    }
+
+    @Test
+    void next_laterMillisecond_sortsAfterEarlierKeys() {
+        AtomicLong state = new AtomicLong();
+        long now = System.currentTimeMillis();
+        UUID earlier = UuidV7.next(state, now);
+        UUID later = UuidV7.next(state, now + 1);
+
+        assertTrue(earlier.compareTo(later) < 0);
+        assertEquals(now + 1, UuidV7.timestampMillis(later));
+    }
+
+    @Test
+    void next_clockStepsBack_keepsIncreasingFromLastKey() {
+        AtomicLong state = new AtomicLong();
+        long now = System.currentTimeMillis();
+        UUID beforeStep = UuidV7.next(state, now);
+        UUID afterStep = UuidV7.next(state, now - 5_000);
+
+        assertTrue(beforeStep.compareTo(afterStep) < 0);
+        assertEquals(now, UuidV7.timestampMillis(afterStep));
+    }
+
+    @Test
+    void timestampMillis_randomUuid_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionplatform.subscription.application.SubscriptionEventType;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryEventCodecTest {
+
+    private final BinaryEventCodec binary = new BinaryEventCodec();
+    private final JsonEventCodec json = new JsonEventCodec(new ObjectMapper());
+
+    @Test
+    void decode_everyEventType_matchesJsonPayload() {
+        Subscription s = subscription(SubscriptionStatus.TRIALING);
+        ReflectionTestUtils.setField(s, "trialEndsAt", Instant.parse("2026-03-01T12:00:00.123456Z"));
+        ReflectionTestUtils.setField(s, "canceledAt", Instant.parse("2026-02-15T08:30:00Z"));
+        ReflectionTestUtils.setField(s, "cancelAtPeriodEnd", true);
+
+        for (SubscriptionEventType type : SubscriptionEventType.values()) {
+            byte[] encoded = binary.encode(type, s);
+
+            assertEquals(json.decode(json.encode(type, s)), binary.decode(encoded), type.eventType());
+            assertTrue(encoded.length < json.encode(type, s).length, type.eventType());
+        }
+    }
+
+    @Test
+    void encode_writesVersionOneHeaderAndWireCodes() {
+        Subscription s = subscription(SubscriptionStatus.ACTIVE);
+
+        byte[] encoded = binary.encode(SubscriptionEventType.ACTIVATED, s);
+
+        assertEquals(BinaryEventCodec.HEADER_BYTES + 2, encoded.length);
+        assertEquals(BinaryEventCodec.MAGIC, encoded[0]);
+        assertEquals(1, encoded[1]);
+        assertEquals(1, encoded[2], "activated");
+        assertEquals(1, encoded[BinaryEventCodec.HEADER_BYTES], "INDIVIDUAL");
+        assertEquals(2, encoded[BinaryEventCodec.HEADER_BYTES + 1], "ACTIVE");
+    }
+
+    @Test
+    void decode_nullInstant_isNull() {
+        Subscription s = subscription(SubscriptionStatus.ACTIVE);
+
+        assertNull(binary.decode(binary.encode(SubscriptionEventType.CANCELED, s)).get("canceledAt"));
+    }
+
+    @Test
+    void decode_unknownSchemaVersion_isRejected() {
+        byte[] encoded = binary.encode(SubscriptionEventType.REACTIVATED, subscription(SubscriptionStatus.ACTIVE));
+        encoded[1] = 2;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> binary.decode(encoded));
+        assertTrue(e.getMessage().contains("version 2"));
+    }
+
+    @Test
+    void decode_truncatedPayload_isRejected() {
+        byte[] encoded = binary.encode(SubscriptionEventType.TRIAL_STARTED, subscription(SubscriptionStatus.TRIALING));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> binary.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+
+    private static Subscription subscription(SubscriptionStatus status) {
+        Subscription s = new Subscription();
+        ReflectionTestUtils.setField(s, "id", UUID.randomUUID());
+        s.setUserId(UUID.randomUUID());
+        s.setPlan(Plan.INDIVIDUAL);
+        s.setStatus(status);
+        return s;
+    }
+}
@@ -0,0 +1,85 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "subscription.cache.enabled=false"})
+@Testcontainers
+@ActiveProfiles("test")
+class OutboxBacklogMonitorIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM subscription.outbox_events");
+    }
+
+    @Test
+    void sampleBacklog_reportsUnsentRows_andTheAgeOfTheOldest() {
+        OutboxBacklogMonitor monitor = new OutboxBacklogMonitor(jdbcTemplate, meterRegistry);
+        Instant now = Instant.now();
+        insertOutboxRow(now.minus(10, ChronoUnit.MINUTES), null);
+        insertOutboxRow(now.minus(2, ChronoUnit.MINUTES), null);
+        insertOutboxRow(now.minusSeconds(5), null);
+        insertOutboxRow(now.minus(1, ChronoUnit.HOURS), now); // Sent rows are not backlog, however old
+
+        monitor.sampleBacklog();
+
+        assertEquals(3.0, gauge("outbox_relay_backlog_events"));
+        double age = gauge("outbox_relay_oldest_unsent_age_seconds");
+        assertTrue(age >= 600 && age < 660, "age " + age);
+
+        jdbcTemplate.update("UPDATE subscription.outbox_events SET sent_at = now()");
+        monitor.sampleBacklog();
+
+        assertEquals(0.0, gauge("outbox_relay_backlog_events"));
+        assertEquals(0.0, gauge("outbox_relay_oldest_unsent_age_seconds"));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private void insertOutboxRow(Instant createdAt, Instant sentAt) {
+        jdbcTemplate.update("""
+                INSERT INTO subscription.outbox_events (id, topic, payload, aggregate_type, aggregate_id, event_type, created_at, sent_at)
+                VALUES (?, 'subscription.events', '{}', 'subscription', ?, 'activated', ?, ?)
+                """, UUID.randomUUID(), UUID.randomUUID().toString(), Timestamp.from(createdAt),
+                sentAt == null ? null : Timestamp.from(sentAt));
+    }
+}
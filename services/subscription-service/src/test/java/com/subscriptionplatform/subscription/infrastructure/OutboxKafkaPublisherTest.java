@@ -0,0 +1,157 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.application.TraceContext;
+import com.subscriptionplatform.subscription.domain.OutboxEvent;
+import com.subscriptionplatform.subscription.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxKafkaPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final OutboxRelayLeaseManager leaseManager = mock(OutboxRelayLeaseManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxKafkaPublisher publisher =
+            new OutboxKafkaPublisher(repository, leaseManager, kafkaTemplate, meterRegistry, 3, Duration.ofSeconds(1));
+    private final List<Short> slots = List.of((short) 0, (short) 1);
+
+    @Test
+    void relayBatch_marksAllAcknowledgedEventsSentInOneUpdate() {
+        List<OutboxEvent> batch = List.of(event("a"), event("b"));
+        when(repository.findUnsentEvents(slots, 3)).thenReturn(batch);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(ack());
+
+        int sent = publisher.relayBatch(slots);
+
+        assertEquals(2, sent);
+        verify(kafkaTemplate, times(2)).send(argThat((ProducerRecord<String, byte[]> record) -> "application/json".equals(
+                new String(record.headers().lastHeader(OutboxKafkaPublisher.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8))));
+        verify(repository, times(1)).markSent(argThat(ids -> ids.containsAll(List.of(batch.get(0).getId(), batch.get(1).getId()))), any(), any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void relayBatch_failedEventHoldsBackLaterEventsWithSameKey() {
+        OutboxEvent a1 = event("a");
+        OutboxEvent b1 = event("b");
+        OutboxEvent a2 = event("a");
+        when(repository.findUnsentEvents(slots, 3)).thenReturn(List.of(a1, b1, a2));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")), ack(), ack());
+
+        int sent = publisher.relayBatch(slots);
+
+        assertEquals(0, sent, "a failed batch must stop draining until the next cycle");
+        verify(repository).markSent(argThat((Collection<UUID> ids) -> ids.size() == 1 && ids.contains(b1.getId())), any(), any());
+    }
+
+    @Test
+    void relayBatch_recordsResultsPerTopicAndLatencyForAcknowledgedEvents() {
+        when(repository.findUnsentEvents(slots, 3)).thenReturn(List.of(event("a"), event("b"), event("a")));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")), ack(), ack());
+
+        publisher.relayBatch(slots);
+
+        assertEquals(1.0, events("sent"));
+        assertEquals(1.0, events("failed"));
+        assertEquals(1.0, events("held_back"));
+        assertEquals(2, meterRegistry.get("outbox_relay_publish_latency").tag("topic", "subscription.events").timer().count());
+        assertEquals(3.0, meterRegistry.get("outbox_relay_batch_size").summary().totalAmount());
+    }
+
+    @Test
+    void relayBatch_sendsStoredTraceparentAsHeader() {
+        OutboxEvent traced = event("a");
+        traced.setTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        OutboxEvent untraced = event("b");
+        when(repository.findUnsentEvents(slots, 3)).thenReturn(List.of(traced, untraced));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(ack());
+
+        publisher.relayBatch(slots);
+
+        verify(kafkaTemplate).send(argThat((ProducerRecord<String, byte[]> record) -> "a".equals(record.key())
+                && traced.getTraceparent().equals(new String(
+                        record.headers().lastHeader(TraceContext.TRACEPARENT_HEADER).value(), StandardCharsets.UTF_8))));
+        verify(kafkaTemplate).send(argThat((ProducerRecord<String, byte[]> record) -> "b".equals(record.key())
+                && record.headers().lastHeader(TraceContext.TRACEPARENT_HEADER) == null));
+    }
+
+    @Test
+    void relayBatch_emptyBacklog_sendsNothing() {
+        when(repository.findUnsentEvents(slots, 3)).thenReturn(List.of());
+
+        assertEquals(0, publisher.relayBatch(slots));
+        verifyNoInteractions(kafkaTemplate);
+        verify(repository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void publishOutboxEvents_withoutLeasedSlots_readsNothing() {
+        when(leaseManager.refreshLeases()).thenReturn(List.of());
+
+        publisher.publishOutboxEvents();
+
+        verifyNoInteractions(repository, kafkaTemplate);
+    }
+
+    @Test
+    void publishOutboxEvents_leaseLostMidDrain_stillRecordsCycle() {
+        when(leaseManager.refreshLeases()).thenReturn(slots, List.of());
+        when(repository.findUnsentEvents(slots, 3)).thenReturn(List.of(event("a"), event("b"), event("c")));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(ack());
+
+        publisher.publishOutboxEvents();
+
+        verify(repository, times(1)).findUnsentEvents(slots, 3);
+        assertEquals(1, meterRegistry.get("outbox_relay_cycle_duration").timer().count());
+    }
+
+    @Test
+    void publishOutboxEvents_failedBatch_stillRecordsCycle() {
+        when(leaseManager.refreshLeases()).thenReturn(slots);
+        when(repository.findUnsentEvents(slots, 3)).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, publisher::publishOutboxEvents);
+        assertEquals(1, meterRegistry.get("outbox_relay_cycle_duration").timer().count());
+    }
+
+    private double events(String result) {
+        return meterRegistry.get("outbox_relay_events_total")
+                .tags("topic", "subscription.events", "result", result).counter().count();
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> ack() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static OutboxEvent event(String aggregateId) {
+        OutboxEvent event = new OutboxEvent();
+        ReflectionTestUtils.setField(event, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(event, "createdAt", Instant.now());
+        event.setTopic("subscription.events");
+        event.setAggregateId(aggregateId);
+        event.setEventType("canceled");
+        event.setPayload("{}".getBytes(StandardCharsets.UTF_8));
+        event.setContentType("application/json");
+        return event;
+    }
+}
@@ -0,0 +1,80 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "subscription.cache.enabled=false"})
+@Testcontainers
+@ActiveProfiles("test")
+class OutboxNotificationListenerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private final OutboxKafkaPublisher relay = mock(OutboxKafkaPublisher.class);
+    private OutboxNotificationListener listener;
+
+    @AfterEach
+    void stopListener() {
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    @Test
+    void committedOutboxInsert_wakesRelayWithoutWaitingForPoll() {
+        listener = new OutboxNotificationListener(relay, postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        listener.start();
+        verify(relay, timeout(5_000)).publishOutboxEvents(); // Initial catch-up run once LISTEN is active
+        clearInvocations(relay);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insertOutboxRow();
+            insertOutboxRow();
+            // Nothing is delivered before commit
+            verify(relay, after(200).never()).publishOutboxEvents();
+        });
+
+        verify(relay, timeout(1_000).atLeastOnce()).publishOutboxEvents();
+    }
+
+    private void insertOutboxRow() {
+        jdbcTemplate.update("""
+                INSERT INTO subscription.outbox_events (id, topic, payload, aggregate_type, aggregate_id, event_type, created_at)
+                VALUES (?, 'subscription.events', '{}', 'subscription', ?, 'activated', ?)
+                """, UUID.randomUUID(), UUID.randomUUID().toString(), Timestamp.from(Instant.now()));
+    }
+}
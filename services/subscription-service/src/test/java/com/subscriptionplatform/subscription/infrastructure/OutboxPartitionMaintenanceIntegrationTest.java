@@ -0,0 +1,91 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "subscription.cache.enabled=false"})
+@Testcontainers
+@ActiveProfiles("test")
+class OutboxPartitionMaintenanceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void maintenance_precreatesDays_andDropsOnlyFullySentExpiredPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String historyPartition = OutboxPartitionMaintenance.partitionName(today.minusDays(1));
+        OutboxPartitionMaintenance maintenance = new OutboxPartitionMaintenance(jdbcTemplate, transactionTemplate, 10, 0);
+
+        UUID unsent = insertOutboxRow(Instant.now().minus(10, ChronoUnit.DAYS), null);
+        insertOutboxRow(Instant.now().minus(10, ChronoUnit.DAYS), Instant.now());
+        maintenance.maintainPartitions();
+
+        assertTrue(partitions().contains(OutboxPartitionMaintenance.partitionName(today.plusDays(10))));
+        assertTrue(partitions().contains(historyPartition), "partition with unsent events must survive retention");
+
+        jdbcTemplate.update("UPDATE subscription.outbox_events SET sent_at = now() WHERE id = ?", unsent);
+        maintenance.maintainPartitions();
+
+        assertFalse(partitions().contains(historyPartition));
+        assertTrue(partitions().contains(OutboxPartitionMaintenance.partitionName(today)));
+    }
+
+    @Test
+    void partitionDay_parsesOnlyDailyPartitionNames() {
+        assertEquals(LocalDate.of(2026, 10, 18), OutboxPartitionMaintenance.partitionDay("outbox_events_p20261018"));
+        assertNull(OutboxPartitionMaintenance.partitionDay("outbox_events_default"));
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'subscription.outbox_events'::regclass
+                """, String.class);
+    }
+
+    private UUID insertOutboxRow(Instant createdAt, Instant sentAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO subscription.outbox_events (id, topic, payload, aggregate_type, aggregate_id, event_type, created_at, sent_at)
+                VALUES (?, 'subscription.events', '{}', 'subscription', ?, 'activated', ?, ?)
+                """, id, UUID.randomUUID().toString(), Timestamp.from(createdAt), sentAt == null ? null : Timestamp.from(sentAt));
+        return id;
+    }
+}
@@ -0,0 +1,233 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several relay instances against one database: they must split the slots between them, publish every
+ * event exactly once, keep per-aggregate order, and drain the backlog faster than a single instance.
+ */
+@SpringBootTest(properties = {"outbox.relay.enabled=false", "subscription.cache.enabled=false"})
+@Testcontainers
+@ActiveProfiles("test")
+class OutboxRelayScalingIntegrationTest {
+
+    private static final int AGGREGATES = 400;
+    private static final int EVENTS_PER_AGGREGATE = 4;
+    private static final Duration BROKER_LATENCY_PER_RECORD = Duration.ofMillis(1);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void resetOutbox() {
+        jdbcTemplate.update("DELETE FROM subscription.outbox_events");
+        jdbcTemplate.update("DELETE FROM subscription.outbox_relay_nodes");
+        jdbcTemplate.update("UPDATE subscription.outbox_relay_leases SET owner = NULL, lease_until = NULL");
+    }
+
+    @Test
+    void severalRelays_publishEachEventOnceInAggregateOrder_andScaleOut() throws Exception {
+        insertBacklog();
+        List<ProducerRecord<String, byte[]>> singleNodeSends = Collections.synchronizedList(new ArrayList<>());
+        long singleNodeNanos = drainWith(1, singleNodeSends);
+        assertExactlyOnceInOrder(singleNodeSends);
+
+        resetOutbox();
+        insertBacklog();
+        List<ProducerRecord<String, byte[]>> multiNodeSends = Collections.synchronizedList(new ArrayList<>());
+        long multiNodeNanos = drainWith(4, multiNodeSends);
+        assertExactlyOnceInOrder(multiNodeSends);
+
+        double speedup = (double) singleNodeNanos / multiNodeNanos;
+        assertTrue(speedup > 2.5, "4 relays should drain close to 4x faster than one, was " + speedup + "x");
+    }
+
+    @Test
+    void slotsOfCrashedNode_areClaimedAfterLeaseTimeout() {
+        Duration leaseTimeout = Duration.ofMillis(500);
+        OutboxRelayLeaseManager crashed = new OutboxRelayLeaseManager(jdbcTemplate, "crashed", leaseTimeout);
+        OutboxRelayLeaseManager survivor = new OutboxRelayLeaseManager(jdbcTemplate, "survivor", leaseTimeout);
+
+        assertEquals(OutboxRelayLeaseManager.SLOT_COUNT, crashed.refreshLeases().size());
+        assertTrue(survivor.refreshLeases().isEmpty(), "live leases must not be stolen");
+
+        LockSupport.parkNanos(leaseTimeout.plusMillis(200).toNanos()); // "crashed" stops renewing
+
+        assertEquals(OutboxRelayLeaseManager.SLOT_COUNT, survivor.refreshLeases().size());
+    }
+
+    @Test
+    void relayNodes_claimDisjointSlots() {
+        List<OutboxRelayLeaseManager> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add(new OutboxRelayLeaseManager(jdbcTemplate, "node-" + i, Duration.ofSeconds(30)));
+        }
+        nodes.forEach(OutboxRelayLeaseManager::refreshLeases); // Everyone registers
+        Set<Short> seen = new HashSet<>();
+        int total = 0;
+        for (OutboxRelayLeaseManager node : nodes) {
+            List<Short> slots = node.refreshLeases();
+            total += slots.size();
+            seen.addAll(slots);
+        }
+        assertEquals(total, seen.size(), "a slot was leased to two nodes");
+    }
+
+    private long drainWith(int relayCount, List<ProducerRecord<String, byte[]>> sends) throws Exception {
+        List<OutboxKafkaPublisher> relays = new ArrayList<>();
+        List<OutboxRelayLeaseManager> leaseManagers = new ArrayList<>();
+        for (int i = 0; i < relayCount; i++) {
+            OutboxRelayLeaseManager leases = new OutboxRelayLeaseManager(jdbcTemplate, "relay-" + relayCount + "-" + i, Duration.ofSeconds(30));
+            leaseManagers.add(leases);
+            relays.add(new OutboxKafkaPublisher(outboxEventRepository, leases,
+                    new KafkaTemplate<>(() -> new SlowRecordingProducer(sends)), new SimpleMeterRegistry(), 50, Duration.ofSeconds(10)));
+        }
+        // Two refresh rounds let every node register and settle on its fair share before the clock starts
+        leaseManagers.forEach(OutboxRelayLeaseManager::refreshLeases);
+        leaseManagers.forEach(OutboxRelayLeaseManager::refreshLeases);
+
+        ExecutorService pool = Executors.newFixedThreadPool(relayCount);
+        long start = System.nanoTime();
+        List<Future<?>> runs = new ArrayList<>();
+        for (OutboxKafkaPublisher relay : relays) {
+            runs.add(pool.submit(() -> {
+                while (unsentCount() > 0) {
+                    relay.publishOutboxEvents();
+                }
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get(2, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        leaseManagers.forEach(OutboxRelayLeaseManager::releaseAll);
+        return elapsed;
+    }
+
+    private void assertExactlyOnceInOrder(List<ProducerRecord<String, byte[]>> sends) {
+        assertEquals(AGGREGATES * EVENTS_PER_AGGREGATE, sends.size(), "duplicate or missing sends");
+        Map<String, Integer> lastSequence = new HashMap<>();
+        synchronized (sends) {
+            for (ProducerRecord<String, byte[]> record : sends) {
+                int sequence = Integer.parseInt(new String(record.value(), StandardCharsets.UTF_8));
+                Integer previous = lastSequence.put(record.key(), sequence);
+                assertTrue(previous == null || previous < sequence,
+                        "aggregate " + record.key() + " reordered: " + previous + " then " + sequence);
+            }
+        }
+        assertEquals(AGGREGATES, lastSequence.size());
+        assertEquals(0, unsentCount());
+    }
+
+    private void insertBacklog() {
+        Instant base = Instant.now().minusSeconds(60);
+        List<Object[]> rows = new ArrayList<>();
+        for (int seq = 0; seq < EVENTS_PER_AGGREGATE; seq++) {
+            for (int aggregate = 0; aggregate < AGGREGATES; aggregate++) {
+                rows.add(new Object[]{
+                        UUID.randomUUID(),
+                        "subscription.events",
+                        Integer.toString(seq).getBytes(StandardCharsets.UTF_8),
+                        "subscription",
+                        "aggregate-" + aggregate,
+                        "canceled",
+                        Timestamp.from(base.plusNanos((long) rows.size() * 1_000))
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO subscription.outbox_events (id, topic, payload, aggregate_type, aggregate_id, event_type, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    private int unsentCount() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM subscription.outbox_events WHERE sent_at IS NULL", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    /** Acks immediately but charges a fixed broker cost per record, like a real producer on a busy link. */
+    private static final class SlowRecordingProducer extends MockProducer<String, byte[]> {
+
+        private final List<ProducerRecord<String, byte[]>> sends;
+
+        SlowRecordingProducer(List<ProducerRecord<String, byte[]>> sends) {
+            super(true, new StringSerializer(), new ByteArraySerializer());
+            this.sends = sends;
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+            LockSupport.parkNanos(BROKER_LATENCY_PER_RECORD.toNanos());
+            sends.add(record);
+            return super.send(record, callback);
+        }
+
+        @Override
+        public void close() {
+            // KafkaTemplate closes the producer after every send; keep it usable like CloseSafeProducer does
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.subscriptionplatform.subscription.application.SubscriptionChangedEvent;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.Subscription;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesReplicaConsistencyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+            pool("primary"), List.of(pool("replica-1"), pool("replica-2")));
+    private final UUID userId = UUID.randomUUID();
+    private final UUID subscriptionId = UUID.randomUUID();
+    private final Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+    private final List<Object> routedTo = new ArrayList<>();
+
+    @BeforeEach
+    void readOnlyTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routing.close();
+    }
+
+    @Test
+    void routing_readOnlyTransactions_roundRobinOverReplicas_othersUsePrimary() {
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("primary", ReadReplicaRoutingDataSource.onPrimary(routing::determineCurrentLookupKey));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void version_replicaBehindOwnWrite_isReReadFromPrimary() {
+        ReadYourWritesReplicaConsistency consistency = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.VERSION);
+        consistency.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 2)));
+
+        Optional<Subscription> read = consistency.readLatest(userId, () -> {
+            boolean primary = route().equals("primary");
+            return Optional.of(subscription(subscriptionId, primary ? 2 : 1));
+        });
+
+        assertEquals(2, read.orElseThrow().getVersion());
+        assertEquals(List.of("replica-1", "primary"), routedTo);
+        assertEquals(1.0, count("replica_stale"));
+    }
+
+    @Test
+    void version_replicaCaughtUp_staysOnReplica() {
+        ReadYourWritesReplicaConsistency consistency = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.VERSION);
+        consistency.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 2)));
+
+        consistency.readLatest(userId, () -> {
+            route();
+            return Optional.of(subscription(subscriptionId, 2));
+        });
+
+        assertEquals(List.of("replica-1"), routedTo);
+        assertEquals(1.0, count("replica_fresh"));
+    }
+
+    @Test
+    void version_replicaMissingNewSubscription_isReReadFromPrimary() {
+        ReadYourWritesReplicaConsistency consistency = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.VERSION);
+        consistency.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 0)));
+
+        consistency.readLatest(userId, () -> route().equals("primary")
+                ? Optional.of(subscription(subscriptionId, 0))
+                : Optional.empty());
+
+        assertEquals(List.of("replica-1", "primary"), routedTo);
+    }
+
+    @Test
+    void window_userWithRecentWrite_readsPrimaryOnly() {
+        ReadYourWritesReplicaConsistency consistency = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.WINDOW);
+        consistency.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 1)));
+
+        consistency.readLatest(userId, () -> {
+            route();
+            return Optional.of(subscription(subscriptionId, 1));
+        });
+        consistency.readLatest(UUID.randomUUID(), () -> {
+            route();
+            return Optional.empty();
+        });
+
+        assertEquals(List.of("primary", "replica-1"), routedTo);
+        assertEquals(1.0, count("primary"));
+    }
+
+    @Test
+    void hasRecentWrite_onlyForUsersWithTrackedWrites() {
+        ReadYourWritesReplicaConsistency consistency = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.VERSION);
+        consistency.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 1)));
+
+        ReadYourWritesReplicaConsistency none = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.NONE);
+        none.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 1)));
+
+        assertTrue(consistency.hasRecentWrite(userId));
+        assertFalse(consistency.hasRecentWrite(UUID.randomUUID()));
+        assertFalse(none.hasRecentWrite(userId));
+    }
+
+    @Test
+    void none_ignoresOwnWrites() {
+        ReadYourWritesReplicaConsistency consistency = consistency(ReadYourWritesReplicaConsistency.StalenessPolicy.NONE);
+        consistency.onSubscriptionChanged(new SubscriptionChangedEvent(subscription(subscriptionId, 2)));
+
+        Optional<Subscription> read = consistency.readLatest(userId, () -> {
+            route();
+            return Optional.of(subscription(subscriptionId, 1));
+        });
+
+        assertEquals(1, read.orElseThrow().getVersion());
+        assertEquals(List.of("replica-1"), routedTo);
+    }
+
+    private ReadYourWritesReplicaConsistency consistency(ReadYourWritesReplicaConsistency.StalenessPolicy policy) {
+        return new ReadYourWritesReplicaConsistency(meterRegistry, policy, Duration.ofMinutes(1));
+    }
+
+    private Object route() {
+        Object key = routing.determineCurrentLookupKey();
+        routedTo.add(key);
+        return key;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("subscriptions_read_your_writes_total", "outcome", outcome).count();
+    }
+
+    private Subscription subscription(UUID id, long version) {
+        Subscription s = new Subscription();
+        ReflectionTestUtils.setField(s, "id", id);
+        ReflectionTestUtils.setField(s, "version", version);
+        ReflectionTestUtils.setField(s, "createdAt", createdAt);
+        s.setUserId(userId);
+        s.setPlan(Plan.INDIVIDUAL);
+        s.setStatus(SubscriptionStatus.TRIALING);
+        return s;
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name); // Never started: routing only needs the pool names
+        return pool;
+    }
+}
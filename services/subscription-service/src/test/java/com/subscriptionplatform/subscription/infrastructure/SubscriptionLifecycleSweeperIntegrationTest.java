@@ -0,0 +1,119 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=false",
+        "subscription.cache.enabled=false",
+        "subscription.lifecycle-sweeper.chunk-size=7",
+        "subscription.lifecycle-sweeper.interval-ms=3600000"
+})
+@Testcontainers
+@ActiveProfiles("test")
+class SubscriptionLifecycleSweeperIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("subscription_test")
+            .withUsername("platform")
+            .withPassword("platform_secret");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    SubscriptionLifecycleSweeper sweeper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM subscription.outbox_events");
+        jdbcTemplate.update("DELETE FROM subscription.subscriptions");
+    }
+
+    @Test
+    void sweep_transitionsEveryDueRowAcrossChunks_andLeavesOthers() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 30; i++) {
+            insert("TRIALING", now.minus(i + 1, ChronoUnit.MINUTES), false);
+        }
+        UUID notDue = insert("TRIALING", now.plus(1, ChronoUnit.DAYS), false);
+        UUID scheduledCancel = insert("ACTIVE", now.minus(1, ChronoUnit.HOURS), true);
+        UUID canceledTrial = insert("TRIALING", now.minus(1, ChronoUnit.HOURS), true);
+
+        sweeper.sweepDueSubscriptions();
+
+        assertEquals(30, count("EXPIRED"));
+        assertEquals("TRIALING", status(notDue));
+        assertEquals("CANCELED", status(scheduledCancel));
+        assertEquals("CANCELED", status(canceledTrial), "a trial canceled at period end must not expire instead");
+        assertEquals(30, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM subscription.outbox_events WHERE event_type = 'expired'", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM subscription.outbox_events WHERE event_type = 'canceled'", Integer.class));
+    }
+
+    @Test
+    void sweep_skipsRowsLockedByAnotherTransaction() throws Exception {
+        UUID locked = insert("TRIALING", Instant.now().minus(1, ChronoUnit.HOURS), false);
+        UUID free = insert("TRIALING", Instant.now().minus(1, ChronoUnit.HOURS), false);
+
+        Thread holder = new Thread(() -> transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.queryForObject("SELECT id FROM subscription.subscriptions WHERE id = ? FOR UPDATE", UUID.class, locked);
+            sweeper.sweep(SubscriptionLifecycleSweeper.Sweep.EXPIRE_TRIAL, Instant.now());
+        }));
+        holder.start();
+        holder.join(30_000);
+
+        assertEquals("TRIALING", status(locked));
+        assertEquals("EXPIRED", status(free));
+    }
+
+    private UUID insert(String status, Instant periodEnd, boolean cancelAtPeriodEnd) {
+        UUID id = UUID.randomUUID();
+        Timestamp end = Timestamp.from(periodEnd);
+        jdbcTemplate.update("""
+                INSERT INTO subscription.subscriptions (id, user_id, plan, status, trial_ends_at, current_period_start,
+                    current_period_end, cancel_at_period_end, canceled_at, version, created_at, updated_at)
+                VALUES (?, ?, 'INDIVIDUAL', ?, ?, now() - interval '14 days', ?, ?, ?, 0, now(), now())
+                """, id, UUID.randomUUID(), status, "TRIALING".equals(status) ? end : null, end, cancelAtPeriodEnd,
+                cancelAtPeriodEnd ? Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)) : null);
+        return id;
+    }
+
+    private String status(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM subscription.subscriptions WHERE id = ?", String.class, id);
+    }
+
+    private int count(String status) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM subscription.subscriptions WHERE status = ?", Integer.class, status);
+    }
+}
@@ -0,0 +1,79 @@
+package com.subscriptionplatform.subscription.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.subscriptionplatform.subscription.api.dto.SubscriptionResponse;
+import com.subscriptionplatform.subscription.application.CachedSubscription;
+import com.subscriptionplatform.subscription.domain.Plan;
+import com.subscriptionplatform.subscription.domain.SubscriptionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TwoTierSubscriptionCacheTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TwoTierSubscriptionCache cache = new TwoTierSubscriptionCache(redisTemplate,
+            new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry,
+            100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+    private final UUID userId = UUID.randomUUID();
+
+    TwoTierSubscriptionCacheTest() {
+        // Redis is down for all tests: the near tier must keep working on its own
+        when(redisTemplate.opsForHash()).thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.execute(any(), anyList(), any(Object[].class))).thenThrow(new RedisConnectionFailureException("down"));
+    }
+
+    @Test
+    void put_olderVersionOfSameSubscription_isRejected() {
+        UUID subscriptionId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        cache.put(userId, entry(subscriptionId, createdAt, SubscriptionStatus.CANCELED, 2));
+
+        cache.put(userId, entry(subscriptionId, createdAt, SubscriptionStatus.TRIALING, 1));
+
+        assertEquals(SubscriptionStatus.CANCELED, cache.get(userId).orElseThrow().response().status());
+    }
+
+    @Test
+    void put_newerSubscription_replacesOneWithHigherVersion() {
+        cache.put(userId, entry(UUID.randomUUID(), Instant.parse("2026-01-01T00:00:00Z"), SubscriptionStatus.CANCELED, 5));
+
+        cache.put(userId, entry(UUID.randomUUID(), Instant.parse("2026-02-01T00:00:00Z"), SubscriptionStatus.TRIALING, 1));
+
+        assertEquals(SubscriptionStatus.TRIALING, cache.get(userId).orElseThrow().response().status());
+    }
+
+    @Test
+    void get_redisDown_missesWithoutThrowingAndCountsError() {
+        assertTrue(cache.get(userId).isEmpty());
+        assertEquals(1.0, meterRegistry.get("cache.errors").counter().count());
+    }
+
+    @Test
+    void onMessage_fromOtherInstance_dropsNearEntry() {
+        cache.put(userId, entry(UUID.randomUUID(), Instant.now(), SubscriptionStatus.TRIALING, 1));
+
+        cache.onMessage(new DefaultMessage(TwoTierSubscriptionCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                ("other-instance " + userId).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(cache.get(userId).isEmpty());
+    }
+
+    private CachedSubscription entry(UUID subscriptionId, Instant createdAt, SubscriptionStatus status, long version) {
+        return new CachedSubscription(new SubscriptionResponse(subscriptionId, userId, Plan.INDIVIDUAL, status,
+                null, null, null, false, null, createdAt), version);
+    }
+}